@@ -0,0 +1,51 @@
+package Core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bản tích phân SIMD (jdk.incubator.vector): xử lý SPECIES.length() phần tử mỗi lệnh,
+ * phần tử bị tắt trong mask giữ nguyên giá trị. Phần đuôi chạy bằng bản vô hướng.
+ * Chỉ được nạp qua BatchIntegrator.create() khi module có mặt.
+ *
+ * Nằm ở source root riêng (src-simd) vì javac cần --add-modules jdk.incubator.vector mới thấy package này;
+ * src biên dịch được không cần cờ đó (khi đó không có class này -> bản vô hướng).
+ */
+final class VectorIntegrator implements BatchIntegrator {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void integrate(double[] x, double[] y, double[] vx, double[] vy,
+                          double[] ax, double[] ay, boolean[] mask,
+                          int from, int to, double deltaTime) {
+        int lanes = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        VectorMask<Double> all = SPECIES.maskAll(true);
+
+        int i = from;
+        for (; i < upper; i += lanes) {
+            VectorMask<Double> m = (mask != null) ? VectorMask.fromArray(SPECIES, mask, i) : all;
+
+            DoubleVector vxv = DoubleVector.fromArray(SPECIES, vx, i);
+            DoubleVector vyv = DoubleVector.fromArray(SPECIES, vy, i);
+
+            if (ax != null) {
+                vxv = vxv.add(DoubleVector.fromArray(SPECIES, ax, i).mul(deltaTime), m);
+                vyv = vyv.add(DoubleVector.fromArray(SPECIES, ay, i).mul(deltaTime), m);
+                vxv.intoArray(vx, i, m);
+                vyv.intoArray(vy, i, m);
+            }
+
+            DoubleVector.fromArray(SPECIES, x, i).add(vxv.mul(deltaTime), m).intoArray(x, i, m);
+            DoubleVector.fromArray(SPECIES, y, i).add(vyv.mul(deltaTime), m).intoArray(y, i, m);
+        }
+
+        ScalarIntegrator.integrateRange(x, y, vx, vy, ax, ay, mask, i, to, deltaTime);
+    }
+
+    @Override
+    public String getName() {
+        return "vector x" + SPECIES.length();
+    }
+}
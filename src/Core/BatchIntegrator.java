@@ -0,0 +1,41 @@
+package Core;
+
+import Utils.Config;
+
+/**
+ * Tích phân chuyển động cho cả lô đối tượng nằm trong mảng nguyên thủy (SoA):
+ * v = vo + at, x = xo + vt trên đoạn [from, to).
+ * ax/ay = null -> không có gia tốc; mask = null -> xử lý mọi phần tử.
+ */
+public interface BatchIntegrator {
+
+    void integrate(double[] x, double[] y, double[] vx, double[] vy,
+                   double[] ax, double[] ay, boolean[] mask,
+                   int from, int to, double deltaTime);
+
+    String getName();
+
+    /**
+     * Dùng bản SIMD (Vector API) nếu JVM chạy với --add-modules jdk.incubator.vector,
+     * ngược lại dùng bản vô hướng.
+     *
+     * Fallback này chỉ có lúc chạy: VectorIntegrator nằm ở src-simd và chỉ biên dịch được với cờ module.
+     * Build ngoài IntelliJ (compiler.xml đã có cờ):
+     *   javac -d out $(find src -name "*.java")                                   -> chỉ bản vô hướng
+     *   javac --add-modules jdk.incubator.vector -cp out -d out $(find src-simd -name "*.java")
+     *   java --add-modules jdk.incubator.vector -cp out Main                      -> bản SIMD
+     * (kèm module path JavaFX như bình thường)
+     */
+    static BatchIntegrator create() {
+        if (Config.SIMD_INTEGRATION && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Nạp qua reflection để máy không có module vẫn chạy được
+                return (BatchIntegrator) Class.forName("Core.VectorIntegrator")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.out.println("Vector API not available, using scalar integrator: " + e);
+            }
+        }
+        return new ScalarIntegrator();
+    }
+}
@@ -0,0 +1,94 @@
+package Core;
+
+/**
+ * Đo thời gian tích phân chuyển động: từng MovableObject (Vector2D) so với bản lô vô hướng và SIMD.
+ * Chạy: java --add-modules jdk.incubator.vector -cp <out> Core.IntegratorBenchmark [số đối tượng] [số vòng]
+ * (bỏ --add-modules thì chỉ đo được bản vô hướng)
+ */
+public class IntegratorBenchmark {
+    private static final double DELTA_TIME = 1.0 / 120;
+
+    // MovableObject tối thiểu để đo đường đi hiện tại (update từng đối tượng)
+    private static class Body extends MovableObject {
+        Body(double x, double y, double vx, double vy) {
+            super("Body", x, y);
+            setVelocity(vx, vy);
+            applyForce(0, 9.8);
+        }
+
+        @Override
+        public void start() {
+        }
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        System.out.println("Integrator benchmark: " + count + " objects x " + iterations + " steps");
+
+        // === Từng đối tượng ===
+        Body[] bodies = new Body[count];
+        for (int i = 0; i < count; i++) {
+            bodies[i] = new Body(i, i * 0.5, 100 + i % 7, -200 - i % 5);
+        }
+        for (int warmup = 0; warmup < 3; warmup++) {
+            runObjects(bodies, iterations / 4);
+        }
+        long start = System.nanoTime();
+        runObjects(bodies, iterations);
+        report("per-object", System.nanoTime() - start, count, iterations);
+
+        // === Theo lô ===
+        BatchIntegrator scalar = new ScalarIntegrator();
+        BatchIntegrator preferred = BatchIntegrator.create();
+        benchmarkBatch(scalar, count, iterations);
+        if (!(preferred instanceof ScalarIntegrator)) {
+            benchmarkBatch(preferred, count, iterations);
+        } else {
+            System.out.println("(vector integrator skipped: run with --add-modules jdk.incubator.vector)");
+        }
+    }
+
+    private static void benchmarkBatch(BatchIntegrator integrator, int count, int iterations) {
+        double[] x = new double[count], y = new double[count];
+        double[] vx = new double[count], vy = new double[count];
+        double[] ax = new double[count], ay = new double[count];
+        boolean[] mask = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = i;
+            y[i] = i * 0.5;
+            vx[i] = 100 + i % 7;
+            vy[i] = -200 - i % 5;
+            ay[i] = 9.8;
+            mask[i] = true;
+        }
+
+        for (int warmup = 0; warmup < 3; warmup++) {
+            runBatch(integrator, x, y, vx, vy, ax, ay, mask, iterations / 4);
+        }
+        long start = System.nanoTime();
+        runBatch(integrator, x, y, vx, vy, ax, ay, mask, iterations);
+        report(integrator.getName(), System.nanoTime() - start, count, iterations);
+    }
+
+    private static void runObjects(Body[] bodies, int iterations) {
+        for (int step = 0; step < iterations; step++) {
+            for (Body body : bodies) {
+                body.update(DELTA_TIME);
+            }
+        }
+    }
+
+    private static void runBatch(BatchIntegrator integrator, double[] x, double[] y, double[] vx, double[] vy,
+                                 double[] ax, double[] ay, boolean[] mask, int iterations) {
+        for (int step = 0; step < iterations; step++) {
+            integrator.integrate(x, y, vx, vy, ax, ay, mask, 0, x.length, DELTA_TIME);
+        }
+    }
+
+    private static void report(String name, long nanos, int count, int iterations) {
+        double perObject = (double) nanos / ((long) count * iterations);
+        System.out.printf("  %-12s %8.1f ms  %6.3f ns/object%n", name, nanos / 1e6, perObject);
+    }
+}
@@ -1,5 +1,7 @@
 package Core;
 
+import Utils.Config;
+import Utils.FixedPoint;
 import Utils.Vector2D;
 
 /**
@@ -23,6 +25,11 @@ public abstract class MovableObject extends GameObject {
 
     @Override
     public void update(double deltaTime) {
+        if (Config.FIXED_POINT_PHYSICS) {
+            updateFixed(FixedPoint.fromDouble(deltaTime));
+            return;
+        }
+
         // Cập nhật vận tốc theo gia tốc: v = vo + at
         velocity.x += acceleration.x * deltaTime;
         velocity.y += acceleration.y * deltaTime;
@@ -32,6 +39,17 @@ public abstract class MovableObject extends GameObject {
         position.y += velocity.y * deltaTime;
     }
 
+    // Bản số nguyên của update (chế độ vật lý tất định)
+    private void updateFixed(long deltaTime) {
+        long vx = FixedPoint.fromDouble(velocity.x) + FixedPoint.mul(FixedPoint.fromDouble(acceleration.x), deltaTime);
+        long vy = FixedPoint.fromDouble(velocity.y) + FixedPoint.mul(FixedPoint.fromDouble(acceleration.y), deltaTime);
+        long x = FixedPoint.fromDouble(position.x) + FixedPoint.mul(vx, deltaTime);
+        long y = FixedPoint.fromDouble(position.y) + FixedPoint.mul(vy, deltaTime);
+
+        velocity.set(FixedPoint.toDouble(vx), FixedPoint.toDouble(vy));
+        position.set(FixedPoint.toDouble(x), FixedPoint.toDouble(y));
+    }
+
     public Vector2D getVelocity() {
         return velocity;
     }
@@ -0,0 +1,35 @@
+package Core;
+
+/**
+ * Bản tích phân vô hướng: từng phần tử một, vòng lặp đơn giản trên mảng.
+ * Cũng dùng cho phần đuôi không đủ 1 lane của VectorIntegrator.
+ */
+public class ScalarIntegrator implements BatchIntegrator {
+
+    @Override
+    public void integrate(double[] x, double[] y, double[] vx, double[] vy,
+                          double[] ax, double[] ay, boolean[] mask,
+                          int from, int to, double deltaTime) {
+        integrateRange(x, y, vx, vy, ax, ay, mask, from, to, deltaTime);
+    }
+
+    static void integrateRange(double[] x, double[] y, double[] vx, double[] vy,
+                               double[] ax, double[] ay, boolean[] mask,
+                               int from, int to, double deltaTime) {
+        for (int i = from; i < to; i++) {
+            if (mask != null && !mask[i]) continue;
+
+            if (ax != null) {
+                vx[i] += ax[i] * deltaTime;
+                vy[i] += ay[i] * deltaTime;
+            }
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
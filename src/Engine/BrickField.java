@@ -0,0 +1,172 @@
+package Engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Kho gạch tĩnh dạng lưới dày đặc (row-major): mỗi ô = 1 bước gạch (kích thước gạch + khoảng cách).
+ * Mỗi viên gạch chỉ tốn vài byte: short máu + byte loại + 1 bit "còn sống".
+ * Vị trí gạch tính từ tọa độ lưới; id gạch = row * cols + col.
+ * Lưới này cũng là broadphase: hộp bao của bóng -> dải hàng/cột cần xét.
+ */
+public class BrickField {
+    private int rows, cols;
+    private double originX, originY;
+    private double cellWidth, cellHeight;
+    private double brickWidth, brickHeight;
+
+    private short[] hitPoints = new short[0];
+    private byte[] types = new byte[0];
+    private final BitSet alive = new BitSet();
+    private int totalBricks;
+    private int version; // tăng mỗi khi hình dạng layout đổi (gạch xuất hiện / vỡ) - dùng làm khóa cache
+    private int revision; // như version nhưng tăng cả khi gạch mất máu (hình gạch đổi) - khóa vẽ lại lớp gạch
+
+    // Tạo lại lưới cho layout mới (gọi khi load level)
+    public void reset(int rows, int cols, double originX, double originY,
+                      double cellWidth, double cellHeight, double brickWidth, double brickHeight) {
+        this.rows = rows;
+        this.cols = cols;
+        this.originX = originX;
+        this.originY = originY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.brickWidth = brickWidth;
+        this.brickHeight = brickHeight;
+        this.totalBricks = 0;
+        this.version++;
+        this.revision++;
+
+        int size = rows * cols;
+        if (hitPoints.length < size) {
+            hitPoints = new short[size];
+            types = new byte[size];
+        } else {
+            Arrays.fill(hitPoints, 0, size, (short) 0);
+            Arrays.fill(types, 0, size, (byte) 0);
+        }
+        alive.clear();
+    }
+
+    public void set(int row, int col, byte type, int hp) {
+        int brick = row * cols + col;
+        if (!alive.get(brick)) totalBricks++;
+        types[brick] = type;
+        hitPoints[brick] = (short) hp;
+        alive.set(brick);
+        version++;
+        revision++;
+    }
+
+    /**
+     * Bóng chạm gạch: trừ 1 máu. Trả về true nếu gạch vỡ (bit alive bị xóa - O(1)).
+     */
+    public boolean hit(int brick) {
+        if (!alive.get(brick)) return false;
+
+        hitPoints[brick]--;
+        revision++;
+        if (hitPoints[brick] <= 0) {
+            alive.clear(brick);
+            version++;
+            return true;
+        }
+        return false;
+    }
+
+    // === DUYỆT GẠCH ===
+    public boolean isAlive(int brick) {
+        return alive.get(brick);
+    }
+
+    // Duyệt: for (int b = field.nextAlive(0); b >= 0; b = field.nextAlive(b + 1))
+    public int nextAlive(int from) {
+        return alive.nextSetBit(from);
+    }
+
+    public boolean isEmpty() {
+        return alive.isEmpty();
+    }
+
+    public int getRemaining() {
+        return alive.cardinality();
+    }
+
+    public int getTotalBricks() {
+        return totalBricks;
+    }
+
+    // === BROADPHASE: dải hàng/cột mà 1 khoảng tọa độ chạm tới (đã kẹp trong lưới) ===
+    public int firstCol(double minX) {
+        return Math.max(0, (int) Math.floor((minX - originX) / cellWidth));
+    }
+
+    public int lastCol(double maxX) {
+        return Math.min(cols - 1, (int) Math.floor((maxX - originX) / cellWidth));
+    }
+
+    public int firstRow(double minY) {
+        return Math.max(0, (int) Math.floor((minY - originY) / cellHeight));
+    }
+
+    public int lastRow(double maxY) {
+        return Math.min(rows - 1, (int) Math.floor((maxY - originY) / cellHeight));
+    }
+
+    // === VỊ TRÍ / THUỘC TÍNH GẠCH ===
+    public double getBrickX(int brick) {
+        return originX + (brick % cols) * cellWidth;
+    }
+
+    public double getBrickY(int brick) {
+        return originY + (brick / cols) * cellHeight;
+    }
+
+    public double getBrickWidth() {
+        return brickWidth;
+    }
+
+    public double getBrickHeight() {
+        return brickHeight;
+    }
+
+    public int getHitPoints(int brick) {
+        return hitPoints[brick];
+    }
+
+    public byte getType(int brick) {
+        return types[brick];
+    }
+
+    public double getOriginX() {
+        return originX;
+    }
+
+    public double getOriginY() {
+        return originY;
+    }
+
+    public double getCellWidth() {
+        return cellWidth;
+    }
+
+    public double getCellHeight() {
+        return cellHeight;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+}
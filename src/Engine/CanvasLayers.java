@@ -0,0 +1,128 @@
+package Engine;
+
+import Utils.Config;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Các canvas xếp chồng trong StackPane (dưới -> trên): nền, gạch, động, HUD.
+ * Chỉ lớp DYNAMIC (paddle, bóng, power-up) bị xóa + vẽ lại mỗi frame; lớp nền / gạch / HUD
+ * giữ nguyên nội dung cho tới khi GameScene thấy dữ liệu của lớp đó đổi.
+ * Lớp DYNAMIC cũng là canvas chung của các scene khác (menu, pause...) - khi đó các lớp tĩnh bị ẩn.
+ */
+public class CanvasLayers {
+    public static final int BACKGROUND = 0;
+    public static final int BRICKS = 1;
+    public static final int DYNAMIC = 2;
+    public static final int HUD = 3;
+    private static final int LAYER_COUNT = 4;
+
+    private final Canvas[] canvases = new Canvas[LAYER_COUNT];
+    private final GraphicsContext[] contexts = new GraphicsContext[LAYER_COUNT];
+    private final StackPane root;
+
+    private double renderScale = 1.0;
+    private boolean imageSmoothing = true;
+    private boolean staticLayersVisible = true;
+    private int generation; // tăng khi canvas bị đổi kích thước (mất nội dung) -> lớp tĩnh phải vẽ lại
+
+    public CanvasLayers() {
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            canvases[i] = new Canvas(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
+            contexts[i] = canvases[i].getGraphicsContext2D();
+        }
+        // Chuột được bắt trên lớp DYNAMIC (GameScene) -> HUD phía trên không được chặn event
+        canvases[HUD].setMouseTransparent(true);
+        root = new StackPane(canvases);
+    }
+
+    public StackPane getRoot() {
+        return root;
+    }
+
+    public Canvas getCanvas(int layer) {
+        return canvases[layer];
+    }
+
+    public GraphicsContext getContext(int layer) {
+        return contexts[layer];
+    }
+
+    /**
+     * Bắt đầu vẽ lại 1 lớp: xóa toàn bộ canvas và đặt tỉ lệ theo render scale,
+     * nên người vẽ vẫn dùng tọa độ game. Phải gọi end() cùng lớp sau khi vẽ xong.
+     */
+    public GraphicsContext begin(int layer) {
+        return begin(layer, true);
+    }
+
+    // clear = false: giữ nội dung cũ, người vẽ tự xóa những vùng cần vẽ lại (DirtyRegions)
+    public GraphicsContext begin(int layer, boolean clear) {
+        GraphicsContext ctx = contexts[layer];
+        ctx.setImageSmoothing(imageSmoothing);
+        if (clear) {
+            ctx.clearRect(0, 0, canvases[layer].getWidth(), canvases[layer].getHeight());
+        }
+        ctx.save();
+        if (renderScale != 1.0) {
+            ctx.scale(renderScale, renderScale);
+        }
+        return ctx;
+    }
+
+    public void end(int layer) {
+        contexts[layer].restore();
+    }
+
+    /**
+     * Đổi độ phân giải vẽ cho mọi lớp: canvas có kích thước SCREEN * scale
+     * và được phóng lại 1/scale nên vẫn phủ kín cửa sổ (StackPane căn giữa).
+     */
+    public void setRenderScale(double scale) {
+        if (scale == renderScale) return;
+
+        renderScale = scale;
+        for (Canvas canvas : canvases) {
+            canvas.setWidth(Config.SCREEN_WIDTH * scale);
+            canvas.setHeight(Config.SCREEN_HEIGHT * scale);
+            canvas.setScaleX(1 / scale);
+            canvas.setScaleY(1 / scale);
+        }
+        generation++;
+    }
+
+    public void setImageSmoothing(boolean smoothing) {
+        if (smoothing == imageSmoothing) return;
+
+        imageSmoothing = smoothing;
+        generation++; // sprite trên lớp tĩnh đang vẽ theo kiểu cũ
+    }
+
+    // Chỉ GameScene dùng lớp nền / gạch / HUD; scene khác vẽ cả màn hình trên lớp DYNAMIC
+    public void setStaticLayersVisible(boolean visible) {
+        if (visible == staticLayersVisible) return;
+
+        staticLayersVisible = visible;
+        canvases[BACKGROUND].setVisible(visible);
+        canvases[BRICKS].setVisible(visible);
+        canvases[HUD].setVisible(visible);
+    }
+
+    // Buộc GameScene vẽ lại mọi lớp tĩnh ở frame tiếp theo
+    public void invalidate() {
+        generation++;
+    }
+
+    public double getRenderScale() {
+        return renderScale;
+    }
+
+    public boolean isImageSmoothing() {
+        return imageSmoothing;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+}
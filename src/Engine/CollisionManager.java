@@ -1,21 +1,34 @@
 package Engine;
 
-import Entities.Ball;
+import Entities.BallPool;
 import Entities.Bricks.Brick;
 import Entities.Paddle;
 import Utils.Config;
+import Utils.FixedPoint;
 
 public class CollisionManager {
 
-    public static boolean checkBallPaddleCollision(Ball ball, Paddle paddle) {
-        if (!ball.isActive()) return false;
+    /**
+     * Kết quả swept test: thời điểm va chạm (0..1 trong bước) và pháp tuyến bề mặt
+     */
+    public static class SweepHit {
+        public double time;
+        public double normalX, normalY;
+    }
+
+    public static boolean checkBallPaddleCollision(BallPool balls, int ball, Paddle paddle) {
+        return checkBallPaddleCollision(balls, ball, paddle, paddle.getPosition().x);
+    }
+
+    // paddleX truyền riêng: swept mode nội suy paddle mà không sửa đối tượng Paddle (an toàn khi chạy song song)
+    public static boolean checkBallPaddleCollision(BallPool balls, int ball, Paddle paddle, double paddleX) {
+        if (!balls.active[ball]) return false;
 
         // lấy vị trí & kích thước
-        double ballX = ball.getPosition().x;
-        double ballY = ball.getPosition().y;
-        double ballRadius = ball.getRadius();
+        double ballX = balls.x[ball];
+        double ballY = balls.y[ball];
+        double ballRadius = balls.radius[ball];
 
-        double paddleX = paddle.getPosition().x;
         double paddleY = paddle.getPosition().y;
         double paddleWidth = paddle.getWidth();
         double paddleHeight = paddle.getHeight();
@@ -26,18 +39,23 @@ public class CollisionManager {
                 ballX + ballRadius >= paddleX - paddleWidth / 2 &&
                 ballX - ballRadius <= paddleX + paddleWidth / 2;
 
-        if (isColliding && ball.getVelocity().y > 0) { // va chạm + bóng đang đi xuống
-            handlePaddleBounce(ball, paddle, ballX, ballY, paddleX, paddleY, paddleWidth, paddleHeight);
+        if (isColliding && balls.vy[ball] > 0) { // va chạm + bóng đang đi xuống
+            handlePaddleBounce(balls, ball, ballX, paddleX, paddleY, paddleWidth, paddleHeight);
             return true;
         }
         return false;
     }
 
-    private static void handlePaddleBounce(Ball ball, Paddle paddle,
-                                           double ballX, double ballY,
+    private static void handlePaddleBounce(BallPool balls, int ball, double ballX,
                                            double paddleX, double paddleY,
                                            double paddleWidth, double paddleHeight) {
-        double ballRadius = ball.getRadius();
+        double ballRadius = balls.radius[ball];
+
+        if (Config.FIXED_POINT_PHYSICS) {
+            handlePaddleBounceFixed(balls, ball, ballX, paddleX, paddleWidth);
+            balls.y[ball] = paddleY - paddleHeight / 2 - ballRadius - 1;
+            return;
+        }
 
         // Tính vị trí va chạm trên paddle (-1 đến 1) trái - giữa - phải
         double hitPosition = (ballX - paddleX) / (paddleWidth / 2);
@@ -48,8 +66,7 @@ public class CollisionManager {
         double angleRad = Math.toRadians(bounceAngle);
 
         // Giữ nguyên tốc độ hiện tại hoặc dùng tốc độ mặc định
-        double currentSpeed = Math.sqrt(ball.getVelocity().x * ball.getVelocity().x +
-                ball.getVelocity().y * ball.getVelocity().y);
+        double currentSpeed = balls.speed(ball);
         double speed = Math.max(currentSpeed, Config.BALL_SPEED * 0.8);
 
         // velocity mới
@@ -57,34 +74,112 @@ public class CollisionManager {
         double newVY = - Math.abs(speed * Math.cos(angleRad));
 
         // Đặt velocity và vị trí mới
-        ball.setVelocity(newVX, newVY);
-        ball.getPosition().y = paddleY - paddleHeight / 2 - ballRadius - 1;
+        balls.vx[ball] = newVX;
+        balls.vy[ball] = newVY;
+        balls.y[ball] = paddleY - paddleHeight / 2 - ballRadius - 1;
         // sau khi đổi hướng, đặt tọa độ y của bóng lên trên paddle một chút
 
-        System.out.println("Paddle collision - HitPos: " + hitPosition +
-                ", Angle: " + bounceAngle + "°, Speed: " + speed);
+        if (Config.DEBUG_COLLISION_LOG) {
+            System.out.println("Paddle collision - HitPos: " + hitPosition +
+                    ", Angle: " + bounceAngle + "°, Speed: " + speed);
+        }
+    }
+
+    // Như trên nhưng bằng số dấu phẩy tĩnh + bảng sin/cos (chế độ tất định)
+    private static void handlePaddleBounceFixed(BallPool balls, int ball, double ballX,
+                                                double paddleX, double paddleWidth) {
+        long maxHit = FixedPoint.fromDouble(0.8);
+        long hitPosition = FixedPoint.div(FixedPoint.fromDouble(ballX - paddleX), FixedPoint.fromDouble(paddleWidth / 2));
+        hitPosition = Math.max(-maxHit, Math.min(maxHit, hitPosition));
+
+        long bounceAngle = hitPosition * 60; // độ
+
+        long currentSpeed = FixedPoint.length(FixedPoint.fromDouble(balls.vx[ball]), FixedPoint.fromDouble(balls.vy[ball]));
+        long speed = Math.max(currentSpeed, FixedPoint.fromDouble(Config.BALL_SPEED * 0.8));
+
+        balls.vx[ball] = FixedPoint.toDouble(FixedPoint.mul(speed, FixedPoint.sinDeg(bounceAngle)));
+        balls.vy[ball] = -FixedPoint.toDouble(Math.abs(FixedPoint.mul(speed, FixedPoint.cosDeg(bounceAngle))));
+    }
+
+    /**
+     * Tìm gạch đầu tiên (theo thứ tự hàng rồi cột) mà bóng đang chồng lấn và nảy bóng.
+     * Chỉ xét các ô lưới quanh hộp bao của bóng. Trả về id gạch, -1 nếu không chạm.
+     */
+    public static int checkBallBrickCollisions(BallPool balls, int ball, BrickField field) {
+        if (!balls.active[ball]) return -1;
+
+        double ballX = balls.x[ball];
+        double ballY = balls.y[ball];
+        double ballRadius = balls.radius[ball];
+
+        int lastRow = field.lastRow(ballY + ballRadius);
+        int lastCol = field.lastCol(ballX + ballRadius);
+        int firstCol = field.firstCol(ballX - ballRadius);
+        for (int row = field.firstRow(ballY - ballRadius); row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int brick = row * field.getCols() + col;
+                if (field.isAlive(brick) && checkBallBrickCollision(balls, ball, field, brick)) {
+                    return brick;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public static boolean checkBallBrickCollision(BallPool balls, int ball, BrickField field, int brick) {
+        double brickLeft = field.getBrickX(brick);
+        double brickTop = field.getBrickY(brick);
+        return checkBallBoxCollision(balls, ball, brickLeft, brickTop,
+                brickLeft + field.getBrickWidth(), brickTop + field.getBrickHeight());
+    }
+
+    /**
+     * Gạch di chuyển: hỏi cây AABB các gạch quanh hộp bao của bóng rồi kiểm tra như gạch tĩnh.
+     * Trả về id gạch động (MovingBrickSet.toId), -1 nếu không chạm.
+     */
+    public static int checkBallMovingBricks(BallPool balls, int ball, MovingBrickSet moving,
+                                            DynamicAabbTree.Query query) {
+        if (!balls.active[ball]) return -1;
+
+        double ballX = balls.x[ball];
+        double ballY = balls.y[ball];
+        double ballRadius = balls.radius[ball];
+
+        moving.query(query, ballX - ballRadius, ballY - ballRadius, ballX + ballRadius, ballY + ballRadius);
+        for (int i = 0; i < query.getCount(); i++) {
+            int index = query.get(i);
+            Brick brick = moving.get(index);
+            if (brick.isToBeRemoved()) continue;
+
+            double left = brick.getPosition().x;
+            double top = brick.getPosition().y;
+            if (checkBallBoxCollision(balls, ball, left, top, left + brick.getWidth(), top + brick.getHeight())) {
+                return MovingBrickSet.toId(index);
+            }
+        }
+        return -1;
     }
 
-    public static boolean checkBallBrickCollision(Ball ball, Brick brick) {
-        if (!ball.isActive()) return false;
+    private static boolean checkBallBoxCollision(BallPool balls, int ball, double brickLeft, double brickTop,
+                                                 double brickRight, double brickBottom) {
+        if (!balls.active[ball]) return false;
 
-        double ballX = ball.getPosition().x;
-        double ballY = ball.getPosition().y;
-        double ballRadius = ball.getRadius();
+        double ballX = balls.x[ball];
+        double ballY = balls.y[ball];
+        double ballRadius = balls.radius[ball];
 
-        if (brick.collidesWith(ballX, ballY, ballRadius)) {
+        // Kiểm tra va chạm đơn giản
+        if (ballX + ballRadius >= brickLeft && ballX - ballRadius <= brickRight &&
+                ballY + ballRadius >= brickTop && ballY - ballRadius <= brickBottom) {
 
             // Nếu bóng xuyên phá, không đảo hướng
-            if (ball.isPierce()) {
-                System.out.println("PierceBall xuyên qua gạch!");
+            if (balls.pierce[ball]) {
+                if (Config.DEBUG_COLLISION_LOG) {
+                    System.out.println("PierceBall xuyên qua gạch!");
+                }
                 return true; // chỉ báo gamescene có va chạm để phá gạch, k đổi hướng
             }
             // Xác định hướng va chạm để nảy đúng hướng
-            double brickLeft = brick.getPosition().x;
-            double brickRight = brick.getPosition().x + brick.getWidth();
-            double brickTop = brick.getPosition().y;
-            double brickBottom = brick.getPosition().y + brick.getHeight();
-
             // Tính khoảng cách từ tâm ball đến các cạnh brick
             double overlapLeft = Math.abs(ballX - brickLeft);
             double overlapRight = Math.abs(ballX - brickRight);
@@ -97,44 +192,399 @@ public class CollisionManager {
 
             if (minOverlap == overlapLeft || minOverlap == overlapRight) {
                 // Va chạm trái/phải - đảo ngược hướng X
-                ball.getVelocity().x = -ball.getVelocity().x;
-                System.out.println("Brick side collision - X reversed");
+                balls.vx[ball] = -balls.vx[ball];
+                if (Config.DEBUG_COLLISION_LOG) {
+                    System.out.println("Brick side collision - X reversed");
+                }
             } else {
                 // Va chạm trên/dưới - đảo ngược hướng Y
-                ball.getVelocity().y = -ball.getVelocity().y;
-                System.out.println("Brick top/bottom collision - Y reversed");
+                balls.vy[ball] = -balls.vy[ball];
+                if (Config.DEBUG_COLLISION_LOG) {
+                    System.out.println("Brick top/bottom collision - Y reversed");
+                }
             }
             return true;
         }
         return false;
     }
 
-    public static void checkWallCollisions(Ball ball) {
-        if (!ball.isActive()) return;
+    public static void checkWallCollisions(BallPool balls, int ball) {
+        if (!balls.active[ball]) return;
 
-        double ballX = ball.getPosition().x;
-        double ballY = ball.getPosition().y;
-        double ballRadius = ball.getRadius();
+        double ballX = balls.x[ball];
+        double ballY = balls.y[ball];
+        double ballRadius = balls.radius[ball];
 
         // Tường trái
         if (ballX - ballRadius <= Config.INSET) {
-            ball.getVelocity().x = Math.abs(ball.getVelocity().x);
-            ball.getPosition().x = Config.INSET + ballRadius + 1;
-            System.out.println("Left wall collision");
+            balls.vx[ball] = Math.abs(balls.vx[ball]);
+            balls.x[ball] = Config.INSET + ballRadius + 1;
+            if (Config.DEBUG_COLLISION_LOG) {
+                System.out.println("Left wall collision");
+            }
         }
 
         // Tường phải
         if (ballX + ballRadius >= Config.SCREEN_WIDTH - Config.INSET) {
-            ball.getVelocity().x = -Math.abs(ball.getVelocity().x);
-            ball.getPosition().x = Config.SCREEN_WIDTH - Config.INSET - ballRadius - 1;
-            System.out.println("Right wall collision");
+            balls.vx[ball] = -Math.abs(balls.vx[ball]);
+            balls.x[ball] = Config.SCREEN_WIDTH - Config.INSET - ballRadius - 1;
+            if (Config.DEBUG_COLLISION_LOG) {
+                System.out.println("Right wall collision");
+            }
         }
 
         // Trần
         if (ballY - ballRadius <= Config.UPPER_INSET) {
-            ball.getVelocity().y = Math.abs(ball.getVelocity().y);
-            ball.getPosition().y = Config.UPPER_INSET + ballRadius + 1;
-            System.out.println("Top wall collision");
+            balls.vy[ball] = Math.abs(balls.vy[ball]);
+            balls.y[ball] = Config.UPPER_INSET + ballRadius + 1;
+            if (Config.DEBUG_COLLISION_LOG) {
+                System.out.println("Top wall collision");
+            }
+        }
+    }
+
+    // ================= SWEPT (CONTINUOUS) COLLISION =================
+
+    // Số bước con cho 1 frame: mỗi bước bóng (tương đối với paddle) đi tối đa MAX_SUBSTEP_DISTANCE
+    public static int computeSubSteps(BallPool balls, int ball, double paddleDx, double deltaTime) {
+        double speed = balls.speed(ball);
+        double travel = speed * deltaTime + Math.abs(paddleDx);
+        int steps = (int) Math.ceil(travel / Config.MAX_SUBSTEP_DISTANCE);
+        return Math.max(1, Math.min(Config.MAX_SUBSTEPS, steps));
+    }
+
+    /**
+     * Swept test hình tròn (x, y, r) di chuyển (dx, dy) với hộp chữ nhật.
+     * Nở hộp thêm r rồi bắn tia từ tâm bóng (slab method).
+     * Nếu bóng đã nằm trong hộp và đang đi vào trong -> va chạm tại time = 0.
+     */
+    public static boolean sweepCircleBox(double x, double y, double r, double dx, double dy,
+                                         double left, double top, double right, double bottom,
+                                         SweepHit hit) {
+        double minX = left - r, maxX = right + r;
+        double minY = top - r, maxY = bottom + r;
+
+        // Đã chồng lấn từ đầu bước
+        if (x > minX && x < maxX && y > minY && y < maxY) {
+            double penLeft = x - minX, penRight = maxX - x;
+            double penTop = y - minY, penBottom = maxY - y;
+            double minPen = Math.min(Math.min(penLeft, penRight), Math.min(penTop, penBottom));
+
+            if (minPen == penLeft) hit.normalX = -1;
+            else if (minPen == penRight) hit.normalX = 1;
+            else hit.normalX = 0;
+            hit.normalY = hit.normalX != 0 ? 0 : (minPen == penTop ? -1 : 1);
+
+            if (dx * hit.normalX + dy * hit.normalY >= 0) return false; // đang đi ra ngoài
+            hit.time = 0;
+            return true;
+        }
+
+        double tEnter = 0, tExit = 1;
+        double nx = 0, ny = 0;
+
+        // Trục X
+        if (dx == 0) {
+            if (x <= minX || x >= maxX) return false;
+        } else {
+            double t1 = (minX - x) / dx;
+            double t2 = (maxX - x) / dx;
+            double near = Math.min(t1, t2), far = Math.max(t1, t2);
+            if (near > tEnter) {
+                tEnter = near;
+                nx = dx > 0 ? -1 : 1;
+                ny = 0;
+            }
+            tExit = Math.min(tExit, far);
+            if (tEnter > tExit) return false;
+        }
+
+        // Trục Y
+        if (dy == 0) {
+            if (y <= minY || y >= maxY) return false;
+        } else {
+            double t1 = (minY - y) / dy;
+            double t2 = (maxY - y) / dy;
+            double near = Math.min(t1, t2), far = Math.max(t1, t2);
+            if (near > tEnter) {
+                tEnter = near;
+                nx = 0;
+                ny = dy > 0 ? -1 : 1;
+            }
+            tExit = Math.min(tExit, far);
+            if (tEnter > tExit) return false;
+        }
+
+        if (nx == 0 && ny == 0) return false; // không có mặt nào bị chạm trong bước này
+
+        hit.time = tEnter;
+        hit.normalX = nx;
+        hit.normalY = ny;
+        return true;
+    }
+
+    /**
+     * Tìm gạch bị chạm sớm nhất trên quãng đường bóng đi trong deltaTime.
+     * Chỉ xét các ô lưới quanh hộp bao của cả quãng đường; ignore = gạch vừa chạm (tránh chạm lặp).
+     * Trả về id gạch, -1 nếu không chạm.
+     */
+    public static int sweepBallBricks(BallPool balls, int ball, double deltaTime, BrickField field,
+                                      int ignore, SweepHit hit) {
+        if (!balls.active[ball]) return -1;
+
+        double x = balls.x[ball];
+        double y = balls.y[ball];
+        double r = balls.radius[ball];
+        double dx = balls.vx[ball] * deltaTime;
+        double dy = balls.vy[ball] * deltaTime;
+
+        double width = field.getBrickWidth();
+        double height = field.getBrickHeight();
+        int firstCol = field.firstCol(Math.min(x, x + dx) - r);
+        int lastCol = field.lastCol(Math.max(x, x + dx) + r);
+        int lastRow = field.lastRow(Math.max(y, y + dy) + r);
+
+        int first = -1;
+        double bestTime = Double.MAX_VALUE, bestNx = 0, bestNy = 0;
+        for (int row = field.firstRow(Math.min(y, y + dy) - r); row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                int brick = row * field.getCols() + col;
+                if (brick == ignore || !field.isAlive(brick)) continue;
+
+                double left = field.getBrickX(brick);
+                double top = field.getBrickY(brick);
+                if (sweepCircleBox(x, y, r, dx, dy, left, top, left + width, top + height, hit)
+                        && hit.time < bestTime) {
+                    first = brick;
+                    bestTime = hit.time;
+                    bestNx = hit.normalX;
+                    bestNy = hit.normalY;
+                }
+            }
+        }
+
+        if (first >= 0) {
+            hit.time = bestTime;
+            hit.normalX = bestNx;
+            hit.normalY = bestNy;
+        }
+        return first;
+    }
+
+    /**
+     * Như sweepBallBricks cho gạch di chuyển: hỏi cây AABB với hộp bao cả quãng đường bóng đi.
+     * Gạch coi như đứng yên trong tick (đã được update trước pha va chạm).
+     * Trả về id gạch động, -1 nếu không chạm.
+     */
+    public static int sweepBallMovingBricks(BallPool balls, int ball, double deltaTime, MovingBrickSet moving,
+                                            int ignore, SweepHit hit, DynamicAabbTree.Query query) {
+        if (!balls.active[ball]) return -1;
+
+        double x = balls.x[ball];
+        double y = balls.y[ball];
+        double r = balls.radius[ball];
+        double dx = balls.vx[ball] * deltaTime;
+        double dy = balls.vy[ball] * deltaTime;
+
+        moving.query(query, Math.min(x, x + dx) - r, Math.min(y, y + dy) - r,
+                Math.max(x, x + dx) + r, Math.max(y, y + dy) + r);
+
+        int first = -1;
+        double bestTime = Double.MAX_VALUE, bestNx = 0, bestNy = 0;
+        for (int i = 0; i < query.getCount(); i++) {
+            int index = query.get(i);
+            int id = MovingBrickSet.toId(index);
+            Brick brick = moving.get(index);
+            if (id == ignore || brick.isToBeRemoved()) continue;
+
+            double left = brick.getPosition().x;
+            double top = brick.getPosition().y;
+            if (sweepCircleBox(x, y, r, dx, dy, left, top, left + brick.getWidth(), top + brick.getHeight(), hit)
+                    && (hit.time < bestTime || (hit.time == bestTime && id < first))) {
+                first = id;
+                bestTime = hit.time;
+                bestNx = hit.normalX;
+                bestNy = hit.normalY;
+            }
+        }
+
+        if (first >= 0) {
+            hit.time = bestTime;
+            hit.normalX = bestNx;
+            hit.normalY = bestNy;
+        }
+        return first;
+    }
+
+    // ================= RAYCAST =================
+
+    // Kết quả raycast: khoảng cách, điểm (tâm bóng) lúc chạm, pháp tuyến, id gạch (-1 = tường)
+    public static class RayHit {
+        public double distance;
+        public double x, y;
+        public double normalX, normalY;
+        public int brick;
+    }
+
+    /**
+     * Shape-cast hình tròn bán kính radius (0 = tia) từ (originX, originY) theo hướng (dirX, dirY)
+     * qua layout gạch tĩnh. Duyệt ô lưới theo DDA dọc tia, mỗi ô xét gạch trong vùng 3x3 xung quanh
+     * (đủ khi radius < kích thước ô); dừng khi ô kế tiếp bắt đầu xa hơn điểm chạm tốt nhất.
+     * Trả về true nếu chạm gạch trong maxDistance.
+     */
+    public static boolean raycastBricks(BrickField field, double originX, double originY,
+                                        double dirX, double dirY, double maxDistance, double radius,
+                                        SweepHit scratch, RayHit hit) {
+        double length = Math.sqrt(dirX * dirX + dirY * dirY);
+        if (length == 0 || field.getRows() == 0) return false;
+        dirX /= length;
+        dirY /= length;
+
+        double cellW = field.getCellWidth();
+        double cellH = field.getCellHeight();
+        int rows = field.getRows();
+        int cols = field.getCols();
+
+        // Tọa độ theo ô (cho phép 1 ô ngoài lưới mỗi phía vì vùng 3x3 vẫn chạm gạch ở mép)
+        double gx = (originX - field.getOriginX()) / cellW;
+        double gy = (originY - field.getOriginY()) / cellH;
+        double stepTx = dirX != 0 ? Math.abs(cellW / dirX) : Double.MAX_VALUE; // quãng đi hết 1 ô theo X
+        double stepTy = dirY != 0 ? Math.abs(cellH / dirY) : Double.MAX_VALUE;
+
+        // Đưa điểm bắt đầu vào vùng lưới mở rộng [-1, cols+1) x [-1, rows+1)
+        double tStart = 0;
+        double tEnd = maxDistance;
+        if (dirX != 0) {
+            double t1 = (-1 - gx) * cellW / dirX, t2 = (cols + 1 - gx) * cellW / dirX;
+            tStart = Math.max(tStart, Math.min(t1, t2));
+            tEnd = Math.min(tEnd, Math.max(t1, t2));
+        } else if (gx < -1 || gx >= cols + 1) {
+            return false;
+        }
+        if (dirY != 0) {
+            double t1 = (-1 - gy) * cellH / dirY, t2 = (rows + 1 - gy) * cellH / dirY;
+            tStart = Math.max(tStart, Math.min(t1, t2));
+            tEnd = Math.min(tEnd, Math.max(t1, t2));
+        } else if (gy < -1 || gy >= rows + 1) {
+            return false;
+        }
+        if (tStart > tEnd) return false;
+
+        double startX = gx + dirX * tStart / cellW;
+        double startY = gy + dirY * tStart / cellH;
+        int col = Math.max(-1, Math.min(cols, (int) Math.floor(startX)));
+        int row = Math.max(-1, Math.min(rows, (int) Math.floor(startY)));
+        int stepCol = dirX > 0 ? 1 : -1;
+        int stepRow = dirY > 0 ? 1 : -1;
+        // quãng đường (tính từ origin) tới biên ô kế tiếp theo mỗi trục
+        double nextTx = dirX != 0 ? tStart + ((dirX > 0 ? col + 1 - startX : startX - col) * stepTx) : Double.MAX_VALUE;
+        double nextTy = dirY != 0 ? tStart + ((dirY > 0 ? row + 1 - startY : startY - row) * stepTy) : Double.MAX_VALUE;
+
+        double dx = dirX * maxDistance;
+        double dy = dirY * maxDistance;
+        double width = field.getBrickWidth();
+        double height = field.getBrickHeight();
+        double best = Double.MAX_VALUE;
+        int bestBrick = -1;
+        double cellEnter = tStart;
+
+        while (cellEnter <= tEnd && cellEnter <= best && col >= -1 && col <= cols && row >= -1 && row <= rows) {
+            // Gạch trong vùng 3x3 quanh ô hiện tại
+            int lastRow = Math.min(rows - 1, row + 1);
+            int lastCol = Math.min(cols - 1, col + 1);
+            for (int r = Math.max(0, row - 1); r <= lastRow; r++) {
+                for (int c = Math.max(0, col - 1); c <= lastCol; c++) {
+                    int brick = r * cols + c;
+                    if (!field.isAlive(brick)) continue;
+
+                    double left = field.getBrickX(brick);
+                    double top = field.getBrickY(brick);
+                    if (sweepCircleBox(originX, originY, radius, dx, dy,
+                            left, top, left + width, top + height, scratch)) {
+                        double distance = scratch.time * maxDistance;
+                        if (distance < best || (distance == best && brick < bestBrick)) {
+                            best = distance;
+                            bestBrick = brick;
+                            hit.normalX = scratch.normalX;
+                            hit.normalY = scratch.normalY;
+                        }
+                    }
+                }
+            }
+
+            // Sang ô kế tiếp
+            if (nextTx < nextTy) {
+                cellEnter = nextTx;
+                nextTx += stepTx;
+                col += stepCol;
+            } else {
+                cellEnter = nextTy;
+                nextTy += stepTy;
+                row += stepRow;
+            }
+        }
+
+        if (bestBrick < 0) return false;
+        hit.brick = bestBrick;
+        hit.distance = best;
+        hit.x = originX + dirX * best;
+        hit.y = originY + dirY * best;
+        return true;
+    }
+
+    /**
+     * Tia (bóng bán kính radius) tới tường trái/phải/trần - cùng biên với checkWallCollisions.
+     * Trả về true nếu chạm trong maxDistance.
+     */
+    public static boolean raycastWalls(double originX, double originY, double dirX, double dirY,
+                                       double maxDistance, double radius, RayHit hit) {
+        double length = Math.sqrt(dirX * dirX + dirY * dirY);
+        if (length == 0) return false;
+        dirX /= length;
+        dirY /= length;
+
+        double best = Double.MAX_VALUE;
+        if (dirX < 0) {
+            double t = (Config.INSET + radius - originX) / dirX;
+            if (t >= 0 && t < best) {
+                best = t;
+                hit.normalX = 1;
+                hit.normalY = 0;
+            }
+        } else if (dirX > 0) {
+            double t = (Config.SCREEN_WIDTH - Config.INSET - radius - originX) / dirX;
+            if (t >= 0 && t < best) {
+                best = t;
+                hit.normalX = -1;
+                hit.normalY = 0;
+            }
+        }
+        if (dirY < 0) {
+            double t = (Config.UPPER_INSET + radius - originY) / dirY;
+            if (t >= 0 && t < best) {
+                best = t;
+                hit.normalX = 0;
+                hit.normalY = 1;
+            }
+        }
+
+        if (best > maxDistance) return false;
+        hit.brick = -1;
+        hit.distance = best;
+        hit.x = originX + dirX * best;
+        hit.y = originY + dirY * best;
+        return true;
+    }
+
+    // Phản xạ vận tốc theo pháp tuyến (bóng xuyên phá thì giữ nguyên hướng)
+    public static void reflectBall(BallPool balls, int ball, SweepHit hit) {
+        if (balls.pierce[ball]) return;
+
+        if (hit.normalX != 0) {
+            balls.vx[ball] = hit.normalX * Math.abs(balls.vx[ball]);
+        }
+        if (hit.normalY != 0) {
+            balls.vy[ball] = hit.normalY * Math.abs(balls.vy[ball]);
         }
     }
-}
\ No newline at end of file
+}
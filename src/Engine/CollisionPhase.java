@@ -0,0 +1,263 @@
+package Engine;
+
+import Entities.BallPool;
+import Entities.Paddle;
+import Utils.Config;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pha di chuyển + va chạm của bóng trong 1 tick.
+ *
+ * Trạng thái gạch được "đóng băng" trong suốt pha: mỗi bóng chỉ tự sửa dữ liệu của chính nó
+ * và ghi ý định chạm gạch (bóng, gạch) vào buffer riêng của lát (slice) mình.
+ * Sau pha, các buffer được gộp theo thứ tự (gạch, bóng) và mỗi gạch chỉ bị tính 1 lần / tick,
+ * nên kết quả như nhau dù chạy tuần tự hay chia lát trên ForkJoinPool.
+ */
+public class CollisionPhase {
+    private final Slice[] slices;
+    private final RootTask rootTask = new RootTask();
+
+    // Đầu vào của tick hiện tại (chỉ đọc trong pha)
+    private BallPool balls;
+    private Paddle paddle;
+    private BrickField field;
+    private MovingBrickSet movingBricks;
+    private double deltaTime;
+    private double paddleStartX, paddleEndX;
+    private int sliceCount;
+
+    // Kết quả gộp: mỗi gạch 1 lần, theo thứ tự id gạch
+    private long[] hitKeys = new long[64];
+    private int[] hitBalls = new int[64];
+    private int[] hitBricks = new int[64];
+    private int hitCount;
+    private int paddleHits;
+
+    public CollisionPhase() {
+        int parallelism = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+        slices = new Slice[parallelism * 4];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * Di chuyển và xử lý va chạm cho mọi bóng đang bay. paddleStartX = vị trí paddle cuối tick trước
+     * (swept mode nội suy paddle từ đó tới vị trí hiện tại).
+     * Gạch động phải được update trước khi gọi (vị trí của chúng cố định trong pha).
+     */
+    public void run(BallPool balls, Paddle paddle, double paddleStartX, BrickField field,
+                    MovingBrickSet movingBricks, double deltaTime) {
+        this.balls = balls;
+        this.paddle = paddle;
+        this.field = field;
+        this.movingBricks = movingBricks;
+        this.deltaTime = deltaTime;
+        this.paddleStartX = paddleStartX;
+        this.paddleEndX = paddle.getPosition().x;
+
+        int count = balls.size();
+        if (Config.PARALLEL_COLLISION && count >= Config.PARALLEL_COLLISION_MIN_BALLS) {
+            sliceCount = slices.length; // lát rỗng (from == to) nếu ít bóng hơn số lát
+            for (int i = 0; i < sliceCount; i++) {
+                slices[i].prepare(count * i / sliceCount, count * (i + 1) / sliceCount);
+            }
+            rootTask.reinitialize();
+            ForkJoinPool.commonPool().invoke(rootTask);
+        } else {
+            sliceCount = 1;
+            slices[0].prepare(0, count);
+            slices[0].process();
+        }
+
+        merge();
+        this.balls = null;
+        this.paddle = null;
+        this.field = null;
+        this.movingBricks = null;
+    }
+
+    // Gộp buffer các lát, sắp theo (gạch, bóng), giữ bóng có chỉ số nhỏ nhất cho mỗi gạch
+    private void merge() {
+        int total = 0;
+        paddleHits = 0;
+        for (int i = 0; i < sliceCount; i++) {
+            total += slices[i].hitCount;
+            paddleHits += slices[i].paddleHits;
+        }
+        if (hitKeys.length < total) {
+            int capacity = Math.max(total, hitKeys.length * 2);
+            hitKeys = new long[capacity];
+            hitBalls = new int[capacity];
+            hitBricks = new int[capacity];
+        }
+
+        int n = 0;
+        for (int i = 0; i < sliceCount; i++) {
+            Slice slice = slices[i];
+            for (int k = 0; k < slice.hitCount; k++) {
+                hitKeys[n++] = ((long) slice.hitBricks[k] << 32) | slice.hitBalls[k];
+            }
+        }
+        Arrays.sort(hitKeys, 0, n);
+
+        hitCount = 0;
+        int previousBrick = -1;
+        for (int k = 0; k < n; k++) {
+            int brick = (int) (hitKeys[k] >>> 32);
+            if (brick == previousBrick) continue; // gạch đã được tính trong tick này
+            previousBrick = brick;
+            hitBricks[hitCount] = brick;
+            hitBalls[hitCount] = (int) hitKeys[k];
+            hitCount++;
+        }
+    }
+
+    // === KẾT QUẢ ===
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getHitBall(int i) {
+        return hitBalls[i];
+    }
+
+    public int getHitBrick(int i) {
+        return hitBricks[i];
+    }
+
+    public int getPaddleHits() {
+        return paddleHits;
+    }
+
+    /**
+     * 1 lát bóng [from, to) + buffer ý định chạm của riêng nó
+     */
+    @SuppressWarnings("serial") // không bao giờ serialize, RecursiveAction chỉ dùng để chia việc
+    private class Slice extends RecursiveAction {
+        private final CollisionManager.SweepHit sweepHit = new CollisionManager.SweepHit();
+        private final CollisionManager.SweepHit movingHit = new CollisionManager.SweepHit();
+        private final DynamicAabbTree.Query treeQuery = new DynamicAabbTree.Query();
+        private int from, to;
+        private int[] hitBalls = new int[16];
+        private int[] hitBricks = new int[16];
+        private int hitCount;
+        private int paddleHits;
+
+        void prepare(int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.hitCount = 0;
+            this.paddleHits = 0;
+            reinitialize();
+        }
+
+        @Override
+        protected void compute() {
+            process();
+        }
+
+        void process() {
+            if (!Config.SWEPT_COLLISION) {
+                // Gạch đứng yên trong pha nên có thể di chuyển cả lát 1 lần (theo lô) rồi mới xét va chạm
+                balls.integrateRange(from, to, deltaTime);
+            }
+
+            for (int ball = from; ball < to; ball++) {
+                if (!balls.active[ball]) continue;
+
+                if (Config.SWEPT_COLLISION) {
+                    stepBallSwept(ball);
+                } else {
+                    stepBallDiscrete(ball);
+                }
+            }
+        }
+
+        // Va chạm rời rạc: bóng đã được di chuyển trong process(), kiểm tra chồng lấn ở cuối bước
+        private void stepBallDiscrete(int ball) {
+            if (CollisionManager.checkBallPaddleCollision(balls, ball, paddle, paddleEndX)) {
+                paddleHits++;
+            }
+
+            // Chỉ xử lý 1 brick mỗi frame
+            int brick = CollisionManager.checkBallBrickCollisions(balls, ball, field);
+            if (brick < 0 && !movingBricks.isEmpty()) {
+                brick = CollisionManager.checkBallMovingBricks(balls, ball, movingBricks, treeQuery);
+            }
+            if (brick >= 0) {
+                recordHit(ball, brick);
+            }
+
+            CollisionManager.checkWallCollisions(balls, ball);
+        }
+
+        /**
+         * Va chạm liên tục: chia frame thành các bước con theo tốc độ bóng + quãng paddle dịch chuyển,
+         * trong mỗi bước tìm thời điểm chạm gạch sớm nhất rồi mới di chuyển phần còn lại.
+         * Paddle được nội suy từ vị trí frame trước nên moveToMouse "dịch chuyển tức thời" cũng không lọt bóng.
+         */
+        private void stepBallSwept(int ball) {
+            double paddleDx = paddleEndX - paddleStartX;
+            int steps = CollisionManager.computeSubSteps(balls, ball, paddleDx, deltaTime);
+            double stepTime = deltaTime / steps;
+            int lastHit = -1;
+
+            for (int step = 1; step <= steps; step++) {
+                double paddleX = paddleStartX + paddleDx * step / steps;
+
+                double remaining = stepTime;
+                int brick = CollisionManager.sweepBallBricks(balls, ball, remaining, field, lastHit, sweepHit);
+                if (!movingBricks.isEmpty()) {
+                    // Gạch tĩnh (lưới) và gạch động (cây AABB): lấy cái chạm sớm hơn
+                    int moving = CollisionManager.sweepBallMovingBricks(balls, ball, remaining, movingBricks,
+                            lastHit, movingHit, treeQuery);
+                    if (moving >= 0 && (brick < 0 || movingHit.time < sweepHit.time)) {
+                        brick = moving;
+                        sweepHit.time = movingHit.time;
+                        sweepHit.normalX = movingHit.normalX;
+                        sweepHit.normalY = movingHit.normalY;
+                    }
+                }
+                if (brick >= 0) {
+                    balls.integrate(ball, remaining * sweepHit.time); // đi tới điểm chạm
+                    remaining -= remaining * sweepHit.time;
+                    CollisionManager.reflectBall(balls, ball, sweepHit);
+                    recordHit(ball, brick);
+                    lastHit = brick;
+                }
+                balls.integrate(ball, remaining);
+
+                if (CollisionManager.checkBallPaddleCollision(balls, ball, paddle, paddleX)) {
+                    paddleHits++;
+                    lastHit = -1;
+                }
+                CollisionManager.checkWallCollisions(balls, ball);
+
+                if (balls.y[ball] + balls.radius[ball] >= Config.SCREEN_HEIGHT) break;
+            }
+        }
+
+        private void recordHit(int ball, int brick) {
+            if (hitCount == hitBalls.length) {
+                hitBalls = Arrays.copyOf(hitBalls, hitCount * 2);
+                hitBricks = Arrays.copyOf(hitBricks, hitCount * 2);
+            }
+            hitBalls[hitCount] = ball;
+            hitBricks[hitCount] = brick;
+            hitCount++;
+        }
+    }
+
+    // Task gốc: chia các lát cho ForkJoinPool và chờ tất cả xong
+    @SuppressWarnings("serial") // không bao giờ serialize, RecursiveAction chỉ dùng để chia việc
+    private class RootTask extends RecursiveAction {
+        @Override
+        protected void compute() {
+            invokeAll(slices);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package Engine;
+
+import Utils.Config;
+
+/**
+ * Vùng cần vẽ lại của lớp canvas động.
+ * Mỗi frame scene ghi hộp bao (+ khóa hình dạng) của mọi thứ nó vẽ; hộp nào giống hệt frame trước
+ * thì pixel trên canvas vẫn đúng. Vùng bẩn = hộp cũ đã biến mất (phải xóa) + hộp mới (phải vẽ),
+ * các hộp chồng nhau được gộp lại. Quá nhiều hộp hoặc tổng diện tích quá Config.DIRTY_RECT_MAX_AREA
+ * màn hình -> vẽ lại toàn bộ (xóa + clip từng vùng lúc đó tốn hơn vẽ cả canvas).
+ */
+public class DirtyRegions {
+    private static final int MAX_RECTS = 64;  // quá số hộp này trong 1 frame -> vẽ lại toàn bộ
+    private static final double PADDING = 2;  // viền chống răng cưa / nét vẽ tràn ra ngoài hộp
+
+    // Hộp của frame hiện tại và frame trước (đổi vai mỗi frame)
+    private Rects current = new Rects();
+    private Rects previous = new Rects();
+    // Kết quả: vùng bẩn đã gộp (rời nhau)
+    private final Rects dirty = new Rects();
+
+    private boolean fullRedraw = true;
+    private boolean invalidated = true; // canvas vừa bị xóa / vẽ bởi scene khác
+    private boolean overflow;
+
+    // Bắt đầu ghi hộp cho frame mới
+    public void begin() {
+        Rects swap = previous;
+        previous = current;
+        current = swap;
+        current.count = 0;
+        overflow = false;
+    }
+
+    /**
+     * Ghi 1 thứ được vẽ trong frame này. key phân biệt hình dạng khác nhau ở cùng vị trí
+     * (loại đối tượng, ảnh, máu gạch...) - cùng hộp + cùng key với frame trước = không cần vẽ lại.
+     */
+    public void mark(double x, double y, double width, double height, long key) {
+        if (current.count == MAX_RECTS) {
+            overflow = true;
+            return;
+        }
+        current.add(x, y, x + width, y + height, key);
+    }
+
+    /**
+     * Tính vùng bẩn của frame. scale = render scale của canvas: mép vùng được làm tròn ra pixel thiết bị
+     * để clearRect không để lại viền nửa pixel.
+     */
+    public void finish(double scale) {
+        dirty.count = 0;
+        fullRedraw = invalidated || overflow || previous.count == MAX_RECTS;
+        invalidated = false;
+        if (fullRedraw) return;
+
+        // Hộp mới chưa có ở frame trước (cần vẽ) + hộp cũ không còn (cần xóa)
+        addMissing(current, previous, scale);
+        addMissing(previous, current, scale);
+        mergeOverlapping();
+
+        double area = 0;
+        for (int i = 0; i < dirty.count; i++) {
+            area += (dirty.x1[i] - dirty.x0[i]) * (dirty.y1[i] - dirty.y0[i]);
+        }
+        if (area > Config.SCREEN_WIDTH * Config.SCREEN_HEIGHT * Config.DIRTY_RECT_MAX_AREA) {
+            fullRedraw = true;
+            dirty.count = 0;
+        }
+    }
+
+    private void addMissing(Rects from, Rects other, double scale) {
+        for (int i = 0; i < from.count; i++) {
+            if (other.contains(from, i)) continue;
+
+            // Nới viền + làm tròn ra lưới pixel thiết bị, kẹp trong màn hình
+            double x0 = Math.max(0, Math.floor((from.x0[i] - PADDING) * scale) / scale);
+            double y0 = Math.max(0, Math.floor((from.y0[i] - PADDING) * scale) / scale);
+            double x1 = Math.min(Config.SCREEN_WIDTH, Math.ceil((from.x1[i] + PADDING) * scale) / scale);
+            double y1 = Math.min(Config.SCREEN_HEIGHT, Math.ceil((from.y1[i] + PADDING) * scale) / scale);
+            if (x1 > x0 && y1 > y0) {
+                dirty.add(x0, y0, x1, y1, 0);
+            }
+        }
+    }
+
+    // Gộp các hộp chồng nhau thành hộp bao chung cho tới khi không còn cặp nào chồng nhau
+    private void mergeOverlapping() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < dirty.count; i++) {
+                for (int j = dirty.count - 1; j > i; j--) {
+                    if (dirty.x0[j] > dirty.x1[i] || dirty.x1[j] < dirty.x0[i]
+                            || dirty.y0[j] > dirty.y1[i] || dirty.y1[j] < dirty.y0[i]) continue;
+
+                    dirty.x0[i] = Math.min(dirty.x0[i], dirty.x0[j]);
+                    dirty.y0[i] = Math.min(dirty.y0[i], dirty.y0[j]);
+                    dirty.x1[i] = Math.max(dirty.x1[i], dirty.x1[j]);
+                    dirty.y1[i] = Math.max(dirty.y1[i], dirty.y1[j]);
+                    dirty.remove(j);
+                    merged = true;
+                }
+            }
+        }
+    }
+
+    // Canvas đã bị xóa hoặc vẽ đè (đổi scene, đổi kích thước): frame tới vẽ lại toàn bộ
+    public void invalidateAll() {
+        invalidated = true;
+    }
+
+    // === KẾT QUẢ ===
+    public boolean isFullRedraw() {
+        return fullRedraw;
+    }
+
+    public int getCount() {
+        return dirty.count;
+    }
+
+    public double getX(int i) {
+        return dirty.x0[i];
+    }
+
+    public double getY(int i) {
+        return dirty.y0[i];
+    }
+
+    public double getWidth(int i) {
+        return dirty.x1[i] - dirty.x0[i];
+    }
+
+    public double getHeight(int i) {
+        return dirty.y1[i] - dirty.y0[i];
+    }
+
+    // Hộp có chạm vùng cần vẽ lại không (vẽ lại toàn bộ -> luôn true)
+    public boolean intersects(double x, double y, double width, double height) {
+        if (fullRedraw) return true;
+
+        for (int i = 0; i < dirty.count; i++) {
+            if (x <= dirty.x1[i] && x + width >= dirty.x0[i]
+                    && y <= dirty.y1[i] && y + height >= dirty.y0[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Danh sách hộp dạng SoA (x0, y0, x1, y1, key), cấp sẵn - không cấp phát mỗi frame
+     */
+    private static class Rects {
+        // Vùng bẩn có thể gấp đôi số hộp ghi (hộp mới + hộp cũ)
+        final double[] x0 = new double[MAX_RECTS * 2], y0 = new double[MAX_RECTS * 2];
+        final double[] x1 = new double[MAX_RECTS * 2], y1 = new double[MAX_RECTS * 2];
+        final long[] keys = new long[MAX_RECTS * 2];
+        int count;
+
+        void add(double minX, double minY, double maxX, double maxY, long key) {
+            x0[count] = minX;
+            y0[count] = minY;
+            x1[count] = maxX;
+            y1[count] = maxY;
+            keys[count] = key;
+            count++;
+        }
+
+        void remove(int i) {
+            count--;
+            x0[i] = x0[count];
+            y0[i] = y0[count];
+            x1[i] = x1[count];
+            y1[i] = y1[count];
+            keys[i] = keys[count];
+        }
+
+        // Có hộp giống hệt hộp i của other không
+        boolean contains(Rects other, int i) {
+            for (int k = 0; k < count; k++) {
+                if (keys[k] == other.keys[i] && x0[k] == other.x0[i] && y0[k] == other.y0[i]
+                        && x1[k] == other.x1[i] && y1[k] == other.y1[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
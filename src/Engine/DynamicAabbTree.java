@@ -0,0 +1,371 @@
+package Engine;
+
+import java.util.Arrays;
+
+/**
+ * Cây AABB động (kiểu Box2D) cho các vật di chuyển: mỗi lá giữ 1 hộp "béo" (nở thêm margin
+ * và kéo dài theo hướng di chuyển). Vật chỉ được gỡ ra / chèn lại khi hộp thật ra khỏi hộp béo,
+ * nên vật chuyển động đều hầu như không tốn gì mỗi tick.
+ * Nút nằm trong các mảng song song (không tạo object), nút trống nối thành danh sách tự do.
+ */
+public class DynamicAabbTree {
+    private static final int NULL = -1;
+
+    private final double margin;
+
+    private double[] minX, minY, maxX, maxY;
+    private int[] parent;   // nút trống: dùng làm con trỏ "next" của danh sách tự do
+    private int[] left, right;
+    private int[] height;   // lá = 0
+    private int[] userData;
+    private int root = NULL;
+    private int freeList = NULL;
+    private int nodeCount;
+
+    public DynamicAabbTree(double margin) {
+        this.margin = margin;
+        allocateArrays(16);
+    }
+
+    // === PROXY ===
+
+    // Thêm 1 vật, trả về id proxy (giữ lại để moveProxy / destroyProxy)
+    public int createProxy(double minX, double minY, double maxX, double maxY, int data) {
+        int proxy = allocateNode();
+        setFatBox(proxy, minX, minY, maxX, maxY, 0, 0);
+        userData[proxy] = data;
+        insertLeaf(proxy);
+        return proxy;
+    }
+
+    public void destroyProxy(int proxy) {
+        removeLeaf(proxy);
+        freeNode(proxy);
+    }
+
+    /**
+     * Cập nhật hộp của vật (dx, dy = quãng vừa di chuyển, để kéo dài hộp béo theo hướng đi).
+     * Trả về true nếu vật phải chèn lại vào cây.
+     */
+    public boolean moveProxy(int proxy, double minX, double minY, double maxX, double maxY, double dx, double dy) {
+        if (this.minX[proxy] <= minX && this.minY[proxy] <= minY
+                && this.maxX[proxy] >= maxX && this.maxY[proxy] >= maxY) {
+            return false; // vẫn nằm trong hộp béo
+        }
+
+        removeLeaf(proxy);
+        setFatBox(proxy, minX, minY, maxX, maxY, dx, dy);
+        insertLeaf(proxy);
+        return true;
+    }
+
+    public int getUserData(int proxy) {
+        return userData[proxy];
+    }
+
+    public void clear() {
+        root = NULL;
+        nodeCount = 0;
+        freeList = NULL;
+    }
+
+    public int getHeight() {
+        return root == NULL ? 0 : height[root];
+    }
+
+    // === TRUY VẤN ===
+
+    /**
+     * Tìm mọi lá có hộp béo chồng lấn hộp truy vấn, ghi userData vào query.
+     * Mỗi luồng dùng Query riêng (stack + kết quả của nó) nên truy vấn song song an toàn.
+     */
+    public void query(Query query, double qMinX, double qMinY, double qMaxX, double qMaxY) {
+        query.count = 0;
+        if (root == NULL) return;
+
+        int[] stack = query.stack;
+        int top = 0;
+        stack[top++] = root;
+
+        while (top > 0) {
+            int node = stack[--top];
+            if (maxX[node] < qMinX || minX[node] > qMaxX || maxY[node] < qMinY || minY[node] > qMaxY) {
+                continue;
+            }
+
+            if (left[node] == NULL) {
+                query.add(userData[node]);
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = query.stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = left[node];
+                stack[top++] = right[node];
+            }
+        }
+    }
+
+    // Bộ nhớ tạm cho 1 luồng truy vấn (tái sử dụng giữa các lần gọi)
+    public static class Query {
+        private int[] stack = new int[64];
+        private int[] results = new int[16];
+        private int count;
+
+        private void add(int data) {
+            if (count == results.length) {
+                results = Arrays.copyOf(results, count * 2);
+            }
+            results[count++] = data;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int get(int i) {
+            return results[i];
+        }
+    }
+
+    // === CHÈN / GỠ LÁ ===
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        // Đi xuống theo chi phí chu vi nhỏ nhất để tìm nút anh em tốt nhất
+        int index = root;
+        while (left[index] != NULL) {
+            int child1 = left[index];
+            int child2 = right[index];
+
+            double area = perimeter(index);
+            double combinedArea = unionPerimeter(index, leaf);
+            double cost = 2 * combinedArea;                       // tạo cha mới tại đây
+            double inheritanceCost = 2 * (combinedArea - area);   // chi phí đẩy lá xuống thấp hơn
+
+            double cost1 = descendCost(child1, leaf) + inheritanceCost;
+            double cost2 = descendCost(child2, leaf) + inheritanceCost;
+
+            if (cost < cost1 && cost < cost2) break;
+            index = cost1 < cost2 ? child1 : child2;
+        }
+        int sibling = index;
+
+        // Tạo nút cha mới cho (sibling, leaf)
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        userData[newParent] = NULL;
+        if (oldParent != NULL) {
+            if (left[oldParent] == sibling) left[oldParent] = newParent;
+            else right[oldParent] = newParent;
+        } else {
+            root = newParent;
+        }
+        left[newParent] = sibling;
+        right[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refit(newParent);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+
+        int oldParent = parent[leaf];
+        int grandParent = parent[oldParent];
+        int sibling = left[oldParent] == leaf ? right[oldParent] : left[oldParent];
+
+        if (grandParent != NULL) {
+            // Anh em thế chỗ cha
+            if (left[grandParent] == oldParent) left[grandParent] = sibling;
+            else right[grandParent] = sibling;
+            parent[sibling] = grandParent;
+            freeNode(oldParent);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(oldParent);
+        }
+    }
+
+    // Cập nhật hộp + chiều cao từ node lên tới gốc, xoay cây khi lệch để giữ chiều cao ~ log n
+    private void refit(int node) {
+        while (node != NULL) {
+            node = balance(node);
+
+            int child1 = left[node];
+            int child2 = right[node];
+            height[node] = 1 + Math.max(height[child1], height[child2]);
+            setUnion(node, child1, child2);
+            node = parent[node];
+        }
+    }
+
+    // Xoay kiểu AVL: nếu 2 nhánh con lệch nhau > 1 thì đưa nhánh cao lên thay node a
+    private int balance(int a) {
+        if (left[a] == NULL || height[a] < 2) return a;
+
+        int b = left[a];
+        int c = right[a];
+        int diff = height[c] - height[b];
+
+        if (diff > 1) {
+            // Đưa c lên
+            int f = left[c];
+            int g = right[c];
+            left[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+
+            if (height[f] > height[g]) {
+                right[c] = f;
+                right[a] = g;
+                parent[g] = a;
+                setUnion(a, b, g);
+                setUnion(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                right[c] = g;
+                right[a] = f;
+                parent[f] = a;
+                setUnion(a, b, f);
+                setUnion(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        if (diff < -1) {
+            // Đưa b lên
+            int d = left[b];
+            int e = right[b];
+            left[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+
+            if (height[d] > height[e]) {
+                right[b] = d;
+                left[a] = e;
+                parent[e] = a;
+                setUnion(a, c, e);
+                setUnion(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                right[b] = e;
+                left[a] = d;
+                parent[d] = a;
+                setUnion(a, c, d);
+                setUnion(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+        return a;
+    }
+
+    private void replaceChild(int node, int oldChild, int newChild) {
+        if (node == NULL) {
+            root = newChild;
+        } else if (left[node] == oldChild) {
+            left[node] = newChild;
+        } else {
+            right[node] = newChild;
+        }
+    }
+
+    private void setUnion(int node, int a, int b) {
+        minX[node] = Math.min(minX[a], minX[b]);
+        minY[node] = Math.min(minY[a], minY[b]);
+        maxX[node] = Math.max(maxX[a], maxX[b]);
+        maxY[node] = Math.max(maxY[a], maxY[b]);
+    }
+
+    private double descendCost(int child, int leaf) {
+        double cost = unionPerimeter(child, leaf);
+        return left[child] == NULL ? cost : cost - perimeter(child);
+    }
+
+    private double perimeter(int node) {
+        return 2 * ((maxX[node] - minX[node]) + (maxY[node] - minY[node]));
+    }
+
+    private double unionPerimeter(int a, int b) {
+        double width = Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b]);
+        double height = Math.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b]);
+        return 2 * (width + height);
+    }
+
+    // Hộp béo: nở margin mọi phía + kéo dài theo hướng di chuyển
+    private void setFatBox(int node, double minX, double minY, double maxX, double maxY, double dx, double dy) {
+        this.minX[node] = minX - margin + Math.min(0, 2 * dx);
+        this.minY[node] = minY - margin + Math.min(0, 2 * dy);
+        this.maxX[node] = maxX + margin + Math.max(0, 2 * dx);
+        this.maxY[node] = maxY + margin + Math.max(0, 2 * dy);
+    }
+
+    // === CẤP PHÁT NÚT ===
+
+    private int allocateNode() {
+        int node;
+        if (freeList != NULL) {
+            node = freeList;
+            freeList = parent[node];
+        } else {
+            if (nodeCount == parent.length) {
+                allocateArrays(parent.length * 2);
+            }
+            node = nodeCount++;
+        }
+        parent[node] = NULL;
+        left[node] = NULL;
+        right[node] = NULL;
+        height[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+    }
+
+    private void allocateArrays(int capacity) {
+        if (parent == null) {
+            minX = new double[capacity];
+            minY = new double[capacity];
+            maxX = new double[capacity];
+            maxY = new double[capacity];
+            parent = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            height = new int[capacity];
+            userData = new int[capacity];
+            return;
+        }
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        height = Arrays.copyOf(height, capacity);
+        userData = Arrays.copyOf(userData, capacity);
+    }
+}
@@ -0,0 +1,86 @@
+package Engine;
+
+import Entities.BallPool;
+import Entities.Paddle;
+import Entities.Power.PowerEffect;
+
+import java.util.PriorityQueue;
+
+/**
+ * Lịch hết hạn của các hiệu ứng power-up, chạy theo đồng hồ game (cộng deltaTime trong update).
+ * Không tạo luồng / Timer: hiệu ứng được bật và tắt ngay trong tick mô phỏng,
+ * nên không có data race với paddle / bóng và tự đứng yên khi game pause (update không được gọi).
+ * Hiệu ứng gắn với bóng giữ handle của bóng; bóng mất trước khi hết hạn thì bỏ qua deactivate.
+ */
+public class EffectScheduler {
+    private static class ActiveEffect {
+        final PowerEffect effect;
+        final int ballHandle; // -1 nếu không gắn với bóng
+        double expireTime;
+        long order; // thứ tự kích hoạt - phá hòa khi cùng thời điểm hết hạn
+
+        ActiveEffect(PowerEffect effect, int ballHandle) {
+            this.effect = effect;
+            this.ballHandle = ballHandle;
+        }
+    }
+
+    private final PriorityQueue<ActiveEffect> expirations = new PriorityQueue<>((a, b) -> {
+        int byTime = Double.compare(a.expireTime, b.expireTime);
+        return byTime != 0 ? byTime : Long.compare(a.order, b.order);
+    });
+    private double time; // giây game kể từ clear()
+    private long sequence;
+
+    /**
+     * Bật hiệu ứng và hẹn giờ tắt. Cùng loại hiệu ứng trên cùng đối tượng đang chạy thì chỉ gia hạn
+     * (không cộng dồn hệ số để lúc tắt trả về đúng trạng thái ban đầu).
+     */
+    public void activate(PowerEffect effect, Paddle paddle, BallPool balls, int ball) {
+        int handle = effect.targetsBall() ? balls.handleOf(ball) : -1;
+
+        for (ActiveEffect active : expirations) {
+            if (active.effect.getClass() == effect.getClass() && active.ballHandle == handle) {
+                expirations.remove(active);
+                schedule(active);
+                System.out.println(effect.getEffectName() + " extended");
+                return;
+            }
+        }
+
+        effect.activate(paddle, balls, ball);
+        schedule(new ActiveEffect(effect, handle));
+    }
+
+    private void schedule(ActiveEffect active) {
+        active.expireTime = time + active.effect.getDuration();
+        active.order = sequence++;
+        expirations.add(active);
+    }
+
+    // Gọi mỗi tick: tiến đồng hồ game, tắt các hiệu ứng đã hết hạn theo thứ tự thời gian
+    public void update(double deltaTime, Paddle paddle, BallPool balls) {
+        time += deltaTime;
+
+        while (!expirations.isEmpty() && expirations.peek().expireTime <= time) {
+            ActiveEffect expired = expirations.poll();
+
+            int ball = -1;
+            if (expired.ballHandle >= 0) {
+                ball = balls.indexOf(expired.ballHandle);
+                if (ball < 0) continue; // bóng đã mất cùng hiệu ứng của nó
+            }
+            expired.effect.deactivate(paddle, balls, ball);
+        }
+    }
+
+    // Bỏ mọi hiệu ứng đang chờ (game mới - paddle và bóng được tạo lại)
+    public void clear() {
+        expirations.clear();
+        time = 0;
+    }
+
+    public int getActiveCount() {
+        return expirations.size();
+    }
+}
@@ -2,26 +2,62 @@ package Engine;
 
 import UI.*;
 import Utils.Config;
+import Utils.LatencyHistogram;
 import Utils.SaveManager;
 import Utils.SoundManager;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
+import java.lang.management.ManagementFactory;
+
 public class GameEngine extends Application {
     private Stage primaryStage;
-    private Canvas canvas;
+    private CanvasLayers layers; // nền / gạch / động / HUD xếp chồng
     private GraphicsContext ctx;
     private boolean isRunning = false;
     private long lastUpdateTime;
 
+    // Fixed timestep
+    private double fixedStep = 1.0 / Config.SIMULATION_HZ;
+    private double accumulator = 0;
+    private double interpolationAlpha = 0; // phần dư của accumulator / fixedStep, dùng cho nội suy khi render
+    private double droppedTime = 0; // tổng thời gian bị bỏ khi vượt MAX_CATCHUP_STEPS
+
+    // Đo cấp phát bộ nhớ của phần update (Config.ALLOCATION_STATS)
+    private com.sun.management.ThreadMXBean threadBean;
+    private long lastFrameAllocatedBytes;
+    private long statsAllocatedBytes;
+    private int statsFrames;
+    private long statsStartTime;
+
+    // Độ trễ input -> frame (Config.LATENCY_STATS): mốc nhận event phím, histogram do GameScene ghi
+    private long inputArrivalTime;
+    private final LatencyHistogram inputLatency = new LatencyHistogram();
+
+    // Âm thanh / save / sprite / random của ván trong cửa sổ (ván không giao diện: GameSession.createHeadless)
+    private GameSession session;
+
+    // Chất lượng vẽ theo thời gian frame (Config.ADAPTIVE_QUALITY)
+    private final QualityGovernor quality = new QualityGovernor(Config.TARGET_FPS);
+
+    // Cửa sổ thu nhỏ / mất focus (Config.SUSPEND_WHEN_INACTIVE)
+    private AnimationTimer gameLoop;
+    private boolean windowActive = true;
+    private boolean loopSuspended;     // AnimationTimer đã stop vì cửa sổ thu nhỏ
+    private boolean resetFrameClock;   // frame đầu sau khi hoạt động lại chỉ lấy mốc thời gian
+    private long lastInactiveFrame;
+
+    // Luồng mô phỏng riêng (Config.SIMULATION_THREAD), null nếu chạy trong AnimationTimer
+    private SimulationThread simulationThread;
+
     private PauseScene pauseScene;
     private SceneManager currentScene;
+    private SceneManager lastRenderedScene; // scene đang có trên canvas
     private GameScene gameScene;
     private MenuScene menuScene;
     private GameOverScene gameOverScene;
@@ -43,15 +79,16 @@ public class GameEngine extends Application {
         initializeManagers(); // tạo soundmanager, savemanager
         initializeScenes(); // các scene
         setupGameLoop(); // AnimationTimer chạy update + render liên tục
+        setupWindowActivity(); // thu nhỏ / mất focus -> pause + giảm tần số vẽ
 
         System.out.println("GameEngine Started Successfully!");
     }
 
     private void setupWindow() {
-        canvas = new Canvas(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT); // bảng vẽ
-        ctx = canvas.getGraphicsContext2D(); // bút vẽ
+        layers = new CanvasLayers(); // các bảng vẽ xếp chồng
+        ctx = layers.getContext(CanvasLayers.DYNAMIC); // bút vẽ chung của mọi scene
 
-        StackPane root = new StackPane(canvas); // để sau này xếp chồng hud,menu,... lên canvas
+        StackPane root = layers.getRoot(); // nền, gạch, lớp động, HUD chồng lên nhau
         Scene scene = new Scene(root, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT); // tạo scene chứa root
         // Stage (cửa sổ) → chứa Scene → chứa StackPane → chứa Canvas.
 
@@ -70,14 +107,18 @@ public class GameEngine extends Application {
 
     private void setupInputHandling(Scene scene) {
         scene.setOnKeyPressed(e -> { // Gắn sự kiện khi người chơi nhấn phím
+            inputArrivalTime = System.nanoTime(); // gắn mốc ngay khi event tới
             if (currentScene != null) {
                 currentScene.handleInput(e); // để scene hiện tại xử lý
+                currentScene.invalidate(); // scene tĩnh: vẽ lại sau input
             }
         });
 
         scene.setOnKeyReleased(e -> { // sự kiện nhả phím
+            inputArrivalTime = System.nanoTime();
             if (currentScene != null) {
                 currentScene.handleInput(e);
+                currentScene.invalidate();
             }
         });
     }
@@ -89,6 +130,8 @@ public class GameEngine extends Application {
 
         System.out.println("Initializing SaveManager");
         saveManager = SaveManager.getInstance();
+
+        session = GameSession.createDesktop();
     }
 
     private void initializeScenes() { // khởi tạo all scenes
@@ -101,7 +144,7 @@ public class GameEngine extends Application {
                 this::switchToLevelSelectScene
         );
 
-        gameScene = new GameScene(ctx, this, () -> {
+        gameScene = new GameScene(ctx, this, session, () -> {
             // Callback khi game over
             gameOver(gameScene.getScore(), gameScene.getCurrentLevel());
         });
@@ -129,37 +172,246 @@ public class GameEngine extends Application {
     }
 
     private void setupGameLoop() { // game bắt đầu chạy liên tục, sau khi window, scene, managers đã setup xong
+        if (Config.SIMULATION_THREAD) {
+            simulationThread = new SimulationThread(Config.SIMULATION_HZ);
+            simulationThread.start();
+        }
+
         lastUpdateTime = System.nanoTime(); // lưu thời điểm hiện tại để làm mốc tính
+        if (Config.ALLOCATION_STATS) {
+            threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            statsStartTime = lastUpdateTime;
+        }
 
-        AnimationTimer gameLoop = new AnimationTimer() {
+        gameLoop = new AnimationTimer() {
             @Override
             public void handle(long now) { // now: thời điểm hiện tại
-                double deltaTime = (now - lastUpdateTime) / 1_000_000_000.0;
+                if (resetFrameClock) {
+                    // Vừa hoạt động lại: bỏ khoảng thời gian bị treo, không tạo deltaTime khổng lồ
+                    lastUpdateTime = now;
+                    accumulator = 0;
+                    resetFrameClock = false;
+                }
+                if (!windowActive) {
+                    // Mất focus: menu / pause vẫn hiện nhưng chỉ cập nhật + vẽ lại vài lần mỗi giây
+                    if (now - lastInactiveFrame < 1_000_000_000L / Config.INACTIVE_FPS) {
+                        // Pulse bị bỏ cố ý: neo lại đồng hồ để frame sau không tính khoảng này là trễ / bị dropped
+                        lastUpdateTime = now;
+                        return;
+                    }
+                    lastInactiveFrame = now;
+                }
+
+                long frameInterval = now - lastUpdateTime;
+                long workStart = System.nanoTime();
+                double deltaTime = frameInterval / 1_000_000_000.0;
                 lastUpdateTime = now;
 
-                update(deltaTime); // cập nhật logic game
+                long allocatedBefore = Config.ALLOCATION_STATS ? threadBean.getCurrentThreadAllocatedBytes() : 0;
+
+                if (Config.FIXED_TIMESTEP || Config.FIXED_POINT_PHYSICS) {
+                    stepFixed(deltaTime); // chạy 0..n bước cố định
+                } else {
+                    update(deltaTime); // cập nhật logic game
+                    interpolationAlpha = 1; // bước biến thiên: trạng thái hiện tại đã đúng thời điểm
+                }
+
+                if (Config.ALLOCATION_STATS) {
+                    recordAllocation(threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore, now);
+                }
                 render(); // vẽ lại
+
+                if (Config.ADAPTIVE_QUALITY && windowActive && frameInterval > 0
+                        && quality.recordFrame(frameInterval, System.nanoTime() - workStart)) {
+                    applyQuality();
+                }
             }
         };
 
         gameLoop.start();
     }
 
+    private void setupWindowActivity() {
+        if (!Config.SUSPEND_WHEN_INACTIVE) return;
+        primaryStage.iconifiedProperty().addListener((observable, was, is) -> onWindowActivityChanged());
+        primaryStage.focusedProperty().addListener((observable, was, is) -> onWindowActivityChanged());
+    }
+
+    /**
+     * Thu nhỏ: tự pause game và dừng hẳn AnimationTimer (luồng mô phỏng cũng ngủ vì không còn scene).
+     * Mất focus nhưng còn hiện: tự pause, menu vẽ lại với INACTIVE_FPS.
+     * Hoạt động lại: chạy tiếp từ mốc thời gian mới; game vẫn ở PauseScene cho tới khi người chơi resume.
+     */
+    private void onWindowActivityChanged() {
+        boolean iconified = primaryStage.isIconified();
+        boolean active = !iconified && primaryStage.isFocused();
+
+        if (!active && currentScene == gameScene) {
+            pauseGame();
+        }
+
+        if (iconified && !loopSuspended) {
+            gameLoop.stop();
+            loopSuspended = true;
+            System.out.println("GameLoop: suspended (window minimized)");
+        } else if (!iconified && loopSuspended) {
+            loopSuspended = false;
+            resetFrameClock = true;
+            gameLoop.start();
+            System.out.println("GameLoop: resumed");
+        }
+
+        if (active != windowActive) {
+            resetFrameClock = true;
+            quality.resetWindow();
+            windowActive = active;
+        }
+    }
+
+    /**
+     * Cộng dồn thời gian thực rồi chạy các bước mô phỏng cố định fixedStep.
+     * Tối đa MAX_CATCHUP_STEPS bước mỗi frame; phần vượt quá bị bỏ và ghi lại vào droppedTime
+     * (frame đầu sau pause / load level / GC không tạo ra 1 deltaTime khổng lồ).
+     */
+    private void stepFixed(double frameTime) {
+        accumulator += frameTime;
+
+        int steps = 0;
+        while (accumulator >= fixedStep && steps < Config.MAX_CATCHUP_STEPS) {
+            update(fixedStep);
+            accumulator -= fixedStep;
+            steps++;
+        }
+
+        if (accumulator >= fixedStep) {
+            double dropped = accumulator - accumulator % fixedStep;
+            droppedTime += dropped;
+            accumulator -= dropped;
+            System.out.println("GameLoop: dropped " + String.format("%.1f", dropped * 1000) +
+                    " ms (total " + String.format("%.1f", droppedTime * 1000) + " ms)");
+        }
+
+        interpolationAlpha = accumulator / fixedStep;
+    }
+
+    // In trung bình byte cấp phát / frame mỗi 5 giây (gameplay ổn định phải là 0)
+    private void recordAllocation(long bytes, long now) {
+        lastFrameAllocatedBytes = bytes;
+        statsAllocatedBytes += bytes;
+        statsFrames++;
+
+        if (now - statsStartTime >= 5_000_000_000L) {
+            System.out.println("GameLoop: update allocated " + (statsAllocatedBytes / statsFrames) +
+                    " bytes/frame (avg over " + statsFrames + " frames)");
+            statsAllocatedBytes = 0;
+            statsFrames = 0;
+            statsStartTime = now;
+        }
+    }
+
     private void update(double deltaTime) {
         if (!isRunning || currentScene == null) return;
+        // Scene đang chạy trên luồng mô phỏng thì luồng FX chỉ render
+        if (simulationThread != null && currentScene == simulationThread.getScene()) return;
         currentScene.update(deltaTime);
     }
 
+    // Dừng mô phỏng (chờ tick đang chạy) rồi mới cleanup scene hiện tại
+    private void leaveCurrentScene() {
+        setSimulatedScene(null);
+        if (currentScene != null) currentScene.cleanup();
+    }
+
+    private void setSimulatedScene(SceneManager scene) {
+        if (simulationThread != null) {
+            simulationThread.setScene(scene);
+        }
+    }
+
     private void render() {
-        ctx.clearRect(0, 0, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
-        if (currentScene != null) {
-            currentScene.render();
+        if (currentScene == null) return;
+
+        // Scene vừa chuyển tới luôn được vẽ; scene tĩnh không đổi thì giữ nguyên canvas (bỏ clearRect + vẽ lại)
+        if (currentScene != lastRenderedScene) {
+            currentScene.invalidate();
+            layers.setStaticLayersVisible(Config.LAYERED_CANVAS && currentScene == gameScene); // chỉ GameScene dùng lớp tĩnh
+            lastRenderedScene = currentScene;
+        }
+        if (!currentScene.consumeRedraw()) return;
+
+        // Canvas có thể nhỏ hơn màn hình: begin() đặt tỉ lệ nên scene vẫn vẽ theo tọa độ gốc
+        layers.begin(CanvasLayers.DYNAMIC, !currentScene.clearsOwnCanvas());
+        currentScene.render();
+        layers.end(CanvasLayers.DYNAMIC);
+    }
+
+    // Đổi độ phân giải / làm mịn sprite theo bậc chất lượng cho mọi lớp canvas
+    private void applyQuality() {
+        layers.setRenderScale(quality.getRenderScale());
+        layers.setImageSmoothing(quality.isImageSmoothing());
+        layers.invalidate(); // HUD hiện bậc chất lượng
+        if (currentScene != null) currentScene.invalidate();
+    }
+
+    //============ FIXED TIMESTEP SETTINGS ===================
+    public void setSimulationRate(int hz) {
+        if (hz <= 0) {
+            throw new IllegalArgumentException("Invalid simulation rate: " + hz);
         }
+        fixedStep = 1.0 / hz;
+        accumulator = 0;
+    }
+
+    public double getFixedStep() {
+        return fixedStep;
+    }
+
+    public double getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    public double getDroppedTime() {
+        return droppedTime;
+    }
+
+    public long getLastFrameAllocatedBytes() {
+        return lastFrameAllocatedBytes;
+    }
+
+    public QualityGovernor getQuality() {
+        return quality;
+    }
+
+    // Tỉ lệ độ phân giải canvas so với tọa độ game (tọa độ chuột trên canvas phải chia cho số này)
+    public double getRenderScale() {
+        return layers.getRenderScale();
+    }
+
+    public CanvasLayers getLayers() {
+        return layers;
+    }
+
+    // Mốc System.nanoTime lúc event phím gần nhất tới Scene (đọc trong handleInput)
+    public long getInputArrivalTime() {
+        return inputArrivalTime;
+    }
+
+    public LatencyHistogram getInputLatency() {
+        return inputLatency;
+    }
+
+    // Chế độ loop / render hiện tại - ghi kèm số đo để so sánh giữa các cấu hình
+    public String getLoopModeDescription() {
+        return "fixedTimestep=" + Config.FIXED_TIMESTEP
+                + " hz=" + Math.round(1.0 / fixedStep)
+                + " simulationThread=" + Config.SIMULATION_THREAD
+                + " interpolation=" + Config.RENDER_INTERPOLATION
+                + " fixedPoint=" + Config.FIXED_POINT_PHYSICS;
     }
 
     //============SCENE SWITCHING ===================
     public void switchToMenuScene() {
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
         currentScene = menuScene;
         currentScene.start();
         soundManager.onReturnToMenu();
@@ -167,28 +419,29 @@ public class GameEngine extends Application {
     }
 
     public void switchToGameScene() {
-        if (currentScene != null) currentScene.cleanup(); // dọn dẹp
+        leaveCurrentScene(); // dọn dẹp
         currentScene = gameScene;
         currentScene.start();
+        setSimulatedScene(gameScene);
         System.out.println("Switched to Game Scene");
     }
 
     public void switchToHighscoreScene() {
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
         currentScene = highscoreScene;
         currentScene.start();
         System.out.println("Switched to Highscore Scene");
     }
 
     public void switchToLevelSelectScene() {
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
         currentScene = levelSelectScene;
         currentScene.start();
         System.out.println("Switched to Level Select Scene");
     }
 
     public void switchToNameInputScene(int score, int level) {
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
         // giờ mới tạo nameInputScene
         nameInputScene = new NameInputScene(ctx, score, level, this::switchToHighscoreScene);
         currentScene = nameInputScene;
@@ -197,7 +450,7 @@ public class GameEngine extends Application {
     }
 
     public void switchToGameOverScene(int score, int level) {
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
         // giờ mới tạo GameOverScene
         gameOverScene = new GameOverScene(ctx, score, level,
                 this::restartGame,
@@ -211,6 +464,8 @@ public class GameEngine extends Application {
     //================ GAME STATE METHODS ====================
     public void pauseGame() {
         if (currentScene == gameScene) {
+            setSimulatedScene(null);
+            gameScene.onPaused();
             currentScene = pauseScene;
             currentScene.start();
             System.out.println("Game paused");
@@ -221,21 +476,23 @@ public class GameEngine extends Application {
         if (currentScene == pauseScene) {
             currentScene = gameScene;
             ((GameScene) gameScene).resumeFromPause();
+            setSimulatedScene(gameScene);
             System.out.println("Game resumed");
         }
     }
 
     public void restartGame() {
         System.out.println("Restarting game");
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
 
         // Tạo game scene mới
-        gameScene = new GameScene(ctx, this, () -> {
+        gameScene = new GameScene(ctx, this, session, () -> {
             gameOver(gameScene.getScore(), gameScene.getCurrentLevel());
         });
 
         currentScene = gameScene;
         currentScene.start();
+        setSimulatedScene(gameScene);
 
         System.out.println("Game restarted");
     }
@@ -256,7 +513,9 @@ public class GameEngine extends Application {
     public void startGameAtLevel(int levelIndex) {
         switchToGameScene();
         if (gameScene != null) {
+            setSimulatedScene(null); // đổi level khi mô phỏng đang tạm dừng
             gameScene.startGameAtLevel(levelIndex);
+            setSimulatedScene(gameScene);
         }
     }
 
@@ -270,7 +529,11 @@ public class GameEngine extends Application {
     @Override
     public void stop() {
         isRunning = false;
-        if (currentScene != null) currentScene.cleanup();
+        leaveCurrentScene();
+        if (simulationThread != null) simulationThread.shutdown();
+        if (Config.LATENCY_STATS) {
+            inputLatency.writeTo(Config.LATENCY_STATS_FILE, getLoopModeDescription());
+        }
         if (soundManager != null) soundManager.cleanup();
         if (saveManager != null) saveManager.cleanup();
         System.out.println("GameEngine Stopped");
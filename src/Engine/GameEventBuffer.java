@@ -0,0 +1,119 @@
+package Engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sự kiện gameplay của 1 tick (chạm gạch, vỡ gạch, chạm paddle, nhặt power-up, qua level)
+ * ghi thành bản ghi nguyên thủy vào mảng dùng lại mỗi tick - vòng va chạm chỉ ghi, không gọi ra ngoài.
+ * Cuối tick dispatch() đưa cả buffer cho từng subscriber (âm thanh, điểm, spawn, lưu game) theo thứ tự đăng ký
+ * rồi xóa. Bản ghi chỉ gồm số nên dễ chép sang luồng khác nếu sau này audio / IO chạy riêng.
+ */
+public class GameEventBuffer {
+    public static final int PADDLE_HIT = 0;        // value = số bóng chạm paddle trong tick
+    public static final int BRICK_HIT = 1;         // gạch bị trừ máu nhưng chưa vỡ
+    public static final int BRICK_DESTROYED = 2;   // value = điểm của gạch
+    public static final int POWERUP_COLLECTED = 3;
+    public static final int LEVEL_COMPLETE = 4;    // value = chỉ số level vừa xong
+
+    public static final int FLAG_PIERCE = 1; // bóng xuyên gạch
+
+    // Subscriber đọc toàn bộ buffer 1 lần mỗi tick
+    public interface Listener {
+        void onEvents(GameEventBuffer events);
+    }
+
+    private int[] types = new int[32];
+    private int[] bricks = new int[32];
+    private int[] balls = new int[32];
+    private int[] values = new int[32];
+    private int[] flags = new int[32];
+    private double[] xs = new double[32];
+    private double[] ys = new double[32];
+    private int count;
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // brick / ball = -1 nếu sự kiện không gắn với gạch / bóng
+    public void add(int type, int brick, int ball, double x, double y, int value, int flag) {
+        if (count == types.length) grow();
+        types[count] = type;
+        bricks[count] = brick;
+        balls[count] = ball;
+        xs[count] = x;
+        ys[count] = y;
+        values[count] = value;
+        flags[count] = flag;
+        count++;
+    }
+
+    // Gọi 1 lần cuối tick: mọi subscriber đọc cùng 1 buffer, sau đó buffer được dùng lại cho tick sau
+    public void dispatch() {
+        if (count == 0) return;
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onEvents(this);
+        }
+        count = 0;
+    }
+
+    // Có sự kiện loại type trong tick này chưa
+    public boolean contains(int type) {
+        for (int i = 0; i < count; i++) {
+            if (types[i] == type) return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void grow() {
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        bricks = Arrays.copyOf(bricks, capacity);
+        balls = Arrays.copyOf(balls, capacity);
+        values = Arrays.copyOf(values, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+    }
+
+    // === ĐỌC SỰ KIỆN ===
+    public int size() {
+        return count;
+    }
+
+    public int getType(int i) {
+        return types[i];
+    }
+
+    public int getBrick(int i) {
+        return bricks[i];
+    }
+
+    public int getBall(int i) {
+        return balls[i];
+    }
+
+    public double getX(int i) {
+        return xs[i];
+    }
+
+    public double getY(int i) {
+        return ys[i];
+    }
+
+    public int getValue(int i) {
+        return values[i];
+    }
+
+    public boolean hasFlag(int i, int flag) {
+        return (flags[i] & flag) != 0;
+    }
+}
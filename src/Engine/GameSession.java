@@ -0,0 +1,83 @@
+package Engine;
+
+import Entities.BallPool;
+import UI.GameScene;
+import Utils.SaveManager;
+import Utils.SoundManager;
+import Utils.SpriteLoader;
+
+import java.util.Random;
+
+/**
+ * Trạng thái dùng chung của 1 ván chơi: âm thanh, save, sprite, nguồn random, kho bóng và scene hiện tại.
+ * Thay cho các static / singleton để nhiều ván có thể chạy song song trong cùng 1 JVM.
+ * - createDesktop(): ván trong cửa sổ game, dùng loa + file save + cache sprite chung của tiến trình
+ * - createHeadless(seed): ván không giao diện (bot, kiểm tra replay) - tắt tiếng, save trong bộ nhớ,
+ *   random theo seed và đồng hồ input chỉ theo thời gian mô phỏng => cùng seed + cùng input cho cùng kết quả
+ */
+public class GameSession {
+    private final SoundManager soundManager;
+    private final SaveManager saveManager;
+    private final SpriteLoader spriteLoader;
+    private final Random random;
+    private final boolean headless;
+
+    // Gán bởi GameScene khi ván bắt đầu
+    private BallPool balls;
+    private GameScene scene;
+
+    private GameSession(SoundManager soundManager, SaveManager saveManager, SpriteLoader spriteLoader,
+                        Random random, boolean headless) {
+        this.soundManager = soundManager;
+        this.saveManager = saveManager;
+        this.spriteLoader = spriteLoader;
+        this.random = random;
+        this.headless = headless;
+    }
+
+    public static GameSession createDesktop() {
+        return new GameSession(SoundManager.getInstance(), SaveManager.getInstance(), SpriteLoader.getInstance(),
+                new Random(), false);
+    }
+
+    public static GameSession createHeadless(long seed) {
+        return new GameSession(SoundManager.createMuted(), SaveManager.createInMemory(), SpriteLoader.createHeadless(),
+                new Random(seed), true);
+    }
+
+    public SoundManager getSoundManager() {
+        return soundManager;
+    }
+
+    public SaveManager getSaveManager() {
+        return saveManager;
+    }
+
+    public SpriteLoader getSpriteLoader() {
+        return spriteLoader;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public BallPool getBalls() {
+        return balls;
+    }
+
+    public void setBalls(BallPool balls) {
+        this.balls = balls;
+    }
+
+    public GameScene getScene() {
+        return scene;
+    }
+
+    public void setScene(GameScene scene) {
+        this.scene = scene;
+    }
+}
@@ -0,0 +1,98 @@
+package Engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hàng đợi vòng không khóa 1 luồng ghi (luồng JavaFX nhận event) - 1 luồng đọc (tick mô phỏng).
+ * Mỗi event là vài giá trị nguyên thủy + mốc System.nanoTime lúc nhận, không tạo object.
+ * Tick đọc lần lượt các event tới thời điểm kết thúc tick và áp dụng đúng vị trí trong tick;
+ * đây cũng là nguồn input duy nhất nếu sau này cần ghi lại / phát lại ván chơi.
+ */
+public class InputRingBuffer {
+    public static final int KEY_PRESSED = 0;
+    public static final int KEY_RELEASED = 1;
+    public static final int MOUSE_MOVED = 2;
+    public static final int MOUSE_DRAGGED = 3;
+    public static final int MOUSE_EXITED = 4;
+
+    private final int capacity;
+    private final int mask;
+    private final long[] times;
+    private final int[] types;
+    private final int[] codes;    // KeyCode.ordinal() với event phím
+    private final double[] values; // tọa độ X với event chuột
+
+    private final AtomicLong head = new AtomicLong(); // vị trí đọc tiếp theo (luồng đọc)
+    private final AtomicLong tail = new AtomicLong(); // vị trí ghi tiếp theo (luồng ghi)
+    private long dropped;
+
+    public InputRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Input buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.times = new long[capacity];
+        this.types = new int[capacity];
+        this.codes = new int[capacity];
+        this.values = new double[capacity];
+    }
+
+    // === LUỒNG GHI ===
+
+    // Trả về false (và bỏ event) nếu bộ đệm đầy
+    public boolean offer(long time, int type, int code, double value) {
+        long t = tail.get();
+        if (t - head.get() >= capacity) {
+            dropped++;
+            return false;
+        }
+
+        int slot = (int) (t & mask);
+        times[slot] = time;
+        types[slot] = type;
+        codes[slot] = code;
+        values[slot] = value;
+        tail.lazySet(t + 1); // công bố slot sau khi ghi xong
+        return true;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    // === LUỒNG ĐỌC ===
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    public long peekTime() {
+        return times[slot()];
+    }
+
+    public int peekType() {
+        return types[slot()];
+    }
+
+    public int peekCode() {
+        return codes[slot()];
+    }
+
+    public double peekValue() {
+        return values[slot()];
+    }
+
+    // Bỏ event đầu hàng (đã xử lý) - trả slot cho luồng ghi
+    public void advance() {
+        head.lazySet(head.get() + 1);
+    }
+
+    // Bỏ mọi event còn lại (gọi từ luồng đọc)
+    public void clear() {
+        head.set(tail.get());
+    }
+
+    private int slot() {
+        return (int) (head.get() & mask);
+    }
+}
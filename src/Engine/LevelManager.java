@@ -1,12 +1,12 @@
 package Engine;
 
 import Entities.Bricks.Brick;
-import Entities.Bricks.NormalBrick;
-import Entities.Bricks.StrongBrick;
+import Entities.Bricks.DescendingBrick;
+import Entities.Bricks.OrbitBrick;
+import Entities.Bricks.SliderBrick;
 import Utils.Config;
 import javafx.scene.paint.Color;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class LevelManager {
@@ -55,6 +55,8 @@ public class LevelManager {
             {BrickType.NONE, BrickType.NONE, BrickType.STRONG, BrickType.STRONG, BrickType.STRONG, BrickType.STRONG, BrickType.NONE, BrickType.NONE}
     };
 
+    private static final BrickType[] BRICK_TYPES = BrickType.values();
+
     private static final List<BrickType[][]> LEVELS = List.of(LEVEL_1, LEVEL_2, LEVEL_3, LEVEL_4, LEVEL_5);
 
     // === BACKGROUND PATHS FOR EACH LEVEL ===
@@ -76,20 +78,24 @@ public class LevelManager {
     };
 
     private int currentLevel = 0;
-    private List<Brick> bricks;
-    private int totalBricks;
+    private final BrickField brickField; // gạch tĩnh: lưới dày đặc + BitSet còn sống
+    private final MovingBrickSet movingBricks; // gạch di chuyển: Brick object + cây AABB động
 
     // Khoảng cách giữa các brick
     private static final double HORIZONTAL_GAP = 12;
     private static final double VERTICAL_GAP = 12;
+    private static final int MOVING_BRICK_SCORE = 150;
 
     // Background management
     private javafx.scene.image.Image currentBackground;
     private Color currentBackgroundColor;
+    private final boolean loadBackgrounds; // false: ván không giao diện, không decode ảnh nền
 
     // constructor
-    public LevelManager() {
-        this.bricks = new ArrayList<>();
+    public LevelManager(boolean loadBackgrounds) {
+        this.brickField = new BrickField();
+        this.movingBricks = new MovingBrickSet();
+        this.loadBackgrounds = loadBackgrounds;
     }
 
     public void loadLevel(int levelNumber) {
@@ -98,19 +104,26 @@ public class LevelManager {
         }
 
         this.currentLevel = levelNumber;
-        this.bricks.clear();
 
         // Load background for this level
         loadLevelBackground(levelNumber);
         createBricks(LEVELS.get(levelNumber));
+        createMovingBricks(levelNumber);
     }
 
     private void loadLevelBackground(int levelNumber) {
+        if (!loadBackgrounds) {
+            currentBackground = null;
+            currentBackgroundColor = LEVEL_BACKGROUND_COLORS[levelNumber];
+            return;
+        }
+
         try {
             String backgroundPath = LEVEL_BACKGROUNDS[levelNumber];
+            // Scale sẵn đúng kích thước màn hình (render vẽ nền 1:1, không resample)
             currentBackground = new javafx.scene.image.Image(
                     getClass().getResourceAsStream(backgroundPath),
-                    Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false
+                    Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, false, true
             );
 
             if (currentBackground.isError()) {
@@ -139,34 +152,81 @@ public class LevelManager {
         double startX = (Config.SCREEN_WIDTH - totalWidth) / 2;
         double startY = Config.UPPER_INSET + 80;
 
+        // Mỗi ô lưới = 1 bước gạch (gồm cả khoảng cách)
+        brickField.reset(rows, cols, startX, startY,
+                brickWidth + HORIZONTAL_GAP, brickHeight + VERTICAL_GAP, brickWidth, brickHeight);
+
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
                 BrickType type = layout[row][col];
                 if (type == BrickType.NONE) continue;
 
-                double x = startX + col * (brickWidth + HORIZONTAL_GAP);
-                double y = startY + row * (brickHeight + VERTICAL_GAP);
+                brickField.set(row, col, (byte) type.ordinal(), getInitialHitPoints(type));
+            }
+        }
+
+        System.out.println("Level " + (currentLevel + 1) + " loaded with " + brickField.getTotalBricks() + " bricks");
+    }
 
-                Brick brick = createBrick(type, x, y);
-                if (brick != null) {
-                    bricks.add(brick);
+    // Gạch di chuyển thêm vào bên dưới lưới gạch tĩnh của một số level
+    private void createMovingBricks(int levelNumber) {
+        movingBricks.clear();
+
+        double width = Config.BLOCK_WIDTH;
+        double height = Config.BLOCK_HEIGHT;
+        double startY = Config.UPPER_INSET + 80 + LEVEL_1.length * (height + VERTICAL_GAP) + 30;
+
+        switch (levelNumber) {
+            case 1 -> {
+                // 3 gạch trượt ngang, mỗi viên trong 1 phần ba màn hình
+                double laneWidth = (Config.SCREEN_WIDTH - 2 * Config.INSET) / 3;
+                for (int i = 0; i < 3; i++) {
+                    double laneX = Config.INSET + i * laneWidth;
+                    movingBricks.add(new SliderBrick(laneX + (laneWidth - width) / 2, startY, width, height,
+                            1, MOVING_BRICK_SCORE, laneX + 5, laneX + laneWidth - 5, 80 * (i % 2 == 0 ? 1 : -1)));
+                }
+            }
+            case 3 -> {
+                // Cụm 4 gạch xoay quanh tâm
+                double centerX = Config.SCREEN_WIDTH / 2;
+                double centerY = startY + 70;
+                for (int i = 0; i < 4; i++) {
+                    movingBricks.add(new OrbitBrick(centerX, centerY, 60, i * 90, 45,
+                            width, height, 2, MOVING_BRICK_SCORE));
+                }
+            }
+            case 4 -> {
+                // 1 hàng gạch từ từ đi xuống
+                double gap = HORIZONTAL_GAP * 2;
+                int count = 6;
+                double rowX = (Config.SCREEN_WIDTH - (count * width + (count - 1) * gap)) / 2;
+                for (int i = 0; i < count; i++) {
+                    movingBricks.add(new DescendingBrick(rowX + i * (width + gap), startY, width, height,
+                            1, MOVING_BRICK_SCORE, 5, startY + 160));
                 }
             }
+            default -> {
+            }
         }
 
-        this.totalBricks = bricks.size();
-        System.out.println("Level " + (currentLevel + 1) + " loaded with " + totalBricks + " bricks");
+        if (!movingBricks.isEmpty()) {
+            System.out.println("Level " + (levelNumber + 1) + " has " + movingBricks.size() + " moving bricks");
+        }
     }
 
-    private Brick createBrick(BrickType type, double x, double y) {
+    // Di chuyển gạch động (gọi mỗi tick, trước pha va chạm)
+    public void updateMovingBricks(double deltaTime) {
+        if (!movingBricks.isEmpty()) {
+            movingBricks.update(deltaTime);
+        }
+    }
+
+    private int getInitialHitPoints(BrickType type) {
         return switch (type) {
-            case NORMAL -> new NormalBrick(x, y);
-            case STRONG -> {
-                // Tăng độ khó theo level: level 1-2: 2 HP, level 3-4: 3 HP, level 5: 4 HP
-                int hitPoints = 2 + (currentLevel / 2);
-                yield new StrongBrick(x, y, hitPoints);
-            }
-            default -> null;
+            case NORMAL -> 1;
+            // Tăng độ khó theo level: level 1-2: 2 HP, level 3-4: 3 HP, level 5: 4 HP
+            case STRONG -> 2 + (currentLevel / 2);
+            default -> 0;
         };
     }
 
@@ -184,16 +244,53 @@ public class LevelManager {
     }
 
     // === EXISTING GETTERS ===
-    public List<Brick> getBricks() {
-        return bricks;
+    public BrickField getBrickField() {
+        return brickField;
+    }
+
+    public MovingBrickSet getMovingBricks() {
+        return movingBricks;
+    }
+
+    public BrickType getBrickType(int brick) {
+        return BRICK_TYPES[brickField.getType(brick)];
+    }
+
+    // Trả về true nếu gạch vỡ (id gạch tĩnh hoặc gạch động)
+    public boolean hitBrick(int brick) {
+        if (MovingBrickSet.isMovingId(brick)) {
+            return movingBricks.hit(MovingBrickSet.indexOf(brick));
+        }
+        return brickField.hit(brick);
     }
 
-    public void removeBrick(Brick brick) {
-        bricks.remove(brick);
+    public double getBrickX(int brick) {
+        if (MovingBrickSet.isMovingId(brick)) {
+            return movingBricks.get(MovingBrickSet.indexOf(brick)).getPosition().x;
+        }
+        return brickField.getBrickX(brick);
+    }
+
+    public double getBrickY(int brick) {
+        if (MovingBrickSet.isMovingId(brick)) {
+            return movingBricks.get(MovingBrickSet.indexOf(brick)).getPosition().y;
+        }
+        return brickField.getBrickY(brick);
+    }
+
+    public int getScoreValue(int brick) {
+        if (MovingBrickSet.isMovingId(brick)) {
+            return movingBricks.get(MovingBrickSet.indexOf(brick)).getScoreValue();
+        }
+        return switch (getBrickType(brick)) {
+            case NORMAL -> 100;
+            case STRONG -> 200;
+            default -> 0;
+        };
     }
 
     public boolean isLevelCompleted() {
-        return bricks.isEmpty();
+        return brickField.isEmpty() && movingBricks.isEmpty();
     }
 
     public boolean hasNextLevel() {
@@ -215,11 +312,11 @@ public class LevelManager {
     }
 
     public int getRemainingBricks() {
-        return bricks.size();
+        return brickField.getRemaining() + movingBricks.getRemaining();
     }
 
     public int getTotalBricks() {
-        return totalBricks;
+        return brickField.getTotalBricks() + movingBricks.size();
     }
 
     public void reset() {
@@ -0,0 +1,109 @@
+package Engine;
+
+import Entities.Bricks.Brick;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kho gạch di chuyển (Brick object) + cây AABB động làm broadphase.
+ * Mỗi tick gạch tự update vị trí, cây chỉ chèn lại gạch nào ra khỏi hộp béo của nó.
+ *
+ * Id gạch động = chỉ số trong kho | ID_FLAG để chung đường đi với id gạch tĩnh (BrickField)
+ * trong pha va chạm; chỉ số không đổi cho tới khi load level mới (gạch vỡ chỉ bị gỡ khỏi cây).
+ */
+public class MovingBrickSet {
+    public static final int ID_FLAG = 1 << 30;
+    private static final double FAT_MARGIN = 8;
+
+    private final List<Brick> bricks = new ArrayList<>();
+    private final DynamicAabbTree tree = new DynamicAabbTree(FAT_MARGIN);
+    private int[] proxies = new int[16];
+    private int remaining;
+
+    public void clear() {
+        bricks.clear();
+        tree.clear();
+        remaining = 0;
+    }
+
+    public void add(Brick brick) {
+        int index = bricks.size();
+        bricks.add(brick);
+        if (proxies.length <= index) {
+            proxies = Arrays.copyOf(proxies, proxies.length * 2);
+        }
+        double x = brick.getPosition().x;
+        double y = brick.getPosition().y;
+        proxies[index] = tree.createProxy(x, y, x + brick.getWidth(), y + brick.getHeight(), index);
+        remaining++;
+    }
+
+    // Di chuyển mọi gạch còn sống và cập nhật cây (chèn lại khi ra khỏi hộp béo)
+    public void update(double deltaTime) {
+        for (int i = 0; i < bricks.size(); i++) {
+            Brick brick = bricks.get(i);
+            if (brick.isToBeRemoved()) continue;
+
+            double oldX = brick.getPosition().x;
+            double oldY = brick.getPosition().y;
+            brick.update(deltaTime);
+            double x = brick.getPosition().x;
+            double y = brick.getPosition().y;
+
+            tree.moveProxy(proxies[i], x, y, x + brick.getWidth(), y + brick.getHeight(), x - oldX, y - oldY);
+        }
+    }
+
+    /**
+     * Bóng chạm gạch động: trừ 1 máu. Trả về true nếu gạch vỡ (gạch bị gỡ khỏi cây).
+     */
+    public boolean hit(int index) {
+        Brick brick = bricks.get(index);
+        if (brick.isToBeRemoved()) return false;
+
+        brick.onHit();
+        if (brick.isToBeRemoved()) {
+            tree.destroyProxy(proxies[index]);
+            remaining--;
+            return true;
+        }
+        return false;
+    }
+
+    // Gạch động có hộp béo chồng lấn vùng cho trước -> chỉ số gạch trong query
+    public void query(DynamicAabbTree.Query query, double minX, double minY, double maxX, double maxY) {
+        tree.query(query, minX, minY, maxX, maxY);
+    }
+
+    // === ID ===
+    public static boolean isMovingId(int brick) {
+        return (brick & ID_FLAG) != 0;
+    }
+
+    public static int toId(int index) {
+        return index | ID_FLAG;
+    }
+
+    public static int indexOf(int brick) {
+        return brick & ~ID_FLAG;
+    }
+
+    // === GETTERS ===
+    public Brick get(int index) {
+        return bricks.get(index);
+    }
+
+    public int size() {
+        return bricks.size();
+    }
+
+    public boolean isEmpty() {
+        return remaining == 0;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+}
@@ -0,0 +1,121 @@
+package Engine;
+
+import Utils.Config;
+
+/**
+ * Tự hạ / nâng chất lượng vẽ theo thời gian frame đo từ game loop.
+ * Mỗi cửa sổ WINDOW_FRAMES frame: quá MISS_RATIO số frame vượt ngân sách -> hạ 1 bậc;
+ * RECOVER_WINDOWS cửa sổ liên tiếp đều dư nhiều -> nâng 1 bậc. Sau mỗi lần đổi bậc bỏ qua 1 cửa sổ
+ * để đo lại, tránh nhảy bậc liên tục.
+ *
+ * Bậc (mỗi bậc giữ các cắt giảm của bậc trước):
+ * 0 HIGH     - đầy đủ
+ * 1 MEDIUM   - tắt hiệu ứng phụ (đường ngắm)
+ * 2 LOW      - HUD màu phẳng, không gradient / viền
+ * 3 LOWER    - sprite không làm mịn khi scale
+ * 4 MINIMAL  - vẽ ở độ phân giải thấp hơn (RENDER_SCALE_MINIMAL) rồi phóng lên
+ */
+public class QualityGovernor {
+    public static final int HIGH = 0;
+    public static final int MEDIUM = 1;
+    public static final int LOW = 2;
+    public static final int LOWER = 3;
+    public static final int MINIMAL = 4;
+    private static final String[] TIER_NAMES = {"HIGH", "MEDIUM", "LOW", "LOWER", "MINIMAL"};
+
+    private static final int WINDOW_FRAMES = 60;
+    private static final double MISS_RATIO = 0.1;      // >10% frame trễ -> hạ bậc
+    private static final double MISS_FACTOR = 1.25;    // frame trễ: khoảng cách frame > 125% ngân sách
+    private static final double HEADROOM_FACTOR = 0.5; // frame dư: thời gian làm việc < 50% ngân sách
+    private static final int RECOVER_WINDOWS = 5;
+    private static final double RENDER_SCALE_MINIMAL = 0.75;
+
+    private final long budgetNanos;
+    private volatile int tier = HIGH; // luồng mô phỏng cũng đọc (bỏ tính đường ngắm)
+
+    private int frames;
+    private int missedFrames;
+    private int busyFrames; // frame không đủ dư để nâng bậc
+    private int calmWindows;
+    private boolean settling; // cửa sổ đầu sau khi đổi bậc: chỉ đo, không quyết định
+
+    public QualityGovernor(int targetFps) {
+        this.budgetNanos = 1_000_000_000L / targetFps;
+    }
+
+    /**
+     * frameInterval = khoảng cách giữa 2 pulse (thứ người chơi thấy),
+     * workTime = thời gian update + render trong pulse (phần game tự tốn).
+     * Trả về true nếu bậc vừa đổi.
+     */
+    public boolean recordFrame(long frameInterval, long workTime) {
+        frames++;
+        if (frameInterval > budgetNanos * MISS_FACTOR) missedFrames++;
+        if (workTime > budgetNanos * HEADROOM_FACTOR || frameInterval > budgetNanos * MISS_FACTOR) busyFrames++;
+
+        if (frames < WINDOW_FRAMES) return false;
+
+        boolean missed = missedFrames > WINDOW_FRAMES * MISS_RATIO;
+        boolean calm = busyFrames == 0;
+        frames = 0;
+        missedFrames = 0;
+        busyFrames = 0;
+
+        if (settling) {
+            settling = false;
+            return false;
+        }
+
+        if (missed && tier < MINIMAL) {
+            calmWindows = 0;
+            return setTier(tier + 1);
+        }
+
+        calmWindows = calm ? calmWindows + 1 : 0;
+        if (calmWindows >= RECOVER_WINDOWS && tier > HIGH) {
+            calmWindows = 0;
+            return setTier(tier - 1);
+        }
+        return false;
+    }
+
+    // Bỏ số đo dở dang (sau khi cửa sổ hoạt động lại, đổi scene...)
+    public void resetWindow() {
+        frames = 0;
+        missedFrames = 0;
+        busyFrames = 0;
+        calmWindows = 0;
+    }
+
+    private boolean setTier(int newTier) {
+        System.out.println("Quality: " + TIER_NAMES[tier] + " -> " + TIER_NAMES[newTier]);
+        tier = newTier;
+        settling = true;
+        return true;
+    }
+
+    // === TÙY CHỌN THEO BẬC ===
+    public int getTier() {
+        return tier;
+    }
+
+    public String getTierName() {
+        return TIER_NAMES[tier];
+    }
+
+    public boolean isEffectsEnabled() {
+        return !Config.ADAPTIVE_QUALITY || tier < MEDIUM;
+    }
+
+    public boolean isHudGradientEnabled() {
+        return !Config.ADAPTIVE_QUALITY || tier < LOW;
+    }
+
+    public boolean isImageSmoothing() {
+        return !Config.ADAPTIVE_QUALITY || tier < LOWER;
+    }
+
+    public double getRenderScale() {
+        return Config.ADAPTIVE_QUALITY && tier >= MINIMAL ? RENDER_SCALE_MINIMAL : 1.0;
+    }
+}
@@ -6,6 +6,8 @@ import javafx.scene.input.KeyEvent;
  * Lớp trừu tượng cho tất cả các Scene trong game
  */
 public abstract class SceneManager {
+    private boolean redrawRequested = true;
+
     public abstract void start();
 
     public abstract void update(double deltaTime);
@@ -15,4 +17,31 @@ public abstract class SceneManager {
     public abstract void handleInput(KeyEvent event);
 
     public abstract void cleanup();
-}
\ No newline at end of file
+
+    /**
+     * Scene có nội dung đổi theo thời gian không. Scene tĩnh (menu chọn, bảng điểm...) trả về false:
+     * GameEngine chỉ xóa + vẽ lại canvas khi có input, khi vừa chuyển tới scene hoặc khi scene tự invalidate().
+     */
+    public boolean isAnimating() {
+        return true;
+    }
+
+    /**
+     * Scene tự xóa phần canvas cần vẽ lại (vùng bẩn) -> GameEngine không xóa cả canvas trước render().
+     */
+    public boolean clearsOwnCanvas() {
+        return false;
+    }
+
+    // Yêu cầu vẽ lại ở frame kế tiếp (gọi từ luồng FX)
+    public void invalidate() {
+        redrawRequested = true;
+    }
+
+    // GameEngine: frame này có cần vẽ không (xóa yêu cầu vẽ lại)
+    public boolean consumeRedraw() {
+        boolean redraw = redrawRequested || isAnimating();
+        redrawRequested = false;
+        return redraw;
+    }
+}
@@ -0,0 +1,149 @@
+package Engine;
+
+import Entities.BallPool;
+import UI.GameScene;
+import Utils.Config;
+import javafx.scene.input.KeyCode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chạy nhiều ván không giao diện song song trong 1 JVM (giải đấu bot, kiểm tra replay).
+ * Mỗi ván có GameSession riêng và chạy trên 1 virtual thread; ván chỉ dùng đồng hồ mô phỏng
+ * và random theo seed nên cùng seed + cùng bot luôn cho cùng kết quả.
+ */
+public class SessionHost implements AutoCloseable {
+    // Điều khiển 1 ván, gọi trước mỗi tick (đưa input qua GameScene.injectInput)
+    public interface Controller {
+        void control(GameSession session, GameScene scene, int tick);
+    }
+
+    public static class Result {
+        public final long seed;
+        public final int score;
+        public final int level;
+        public final int ticks;
+        public final boolean finished; // game over / hết level trước khi hết số tick cho phép
+
+        Result(long seed, int score, int level, int ticks, boolean finished) {
+            this.seed = seed;
+            this.score = score;
+            this.level = level;
+            this.ticks = ticks;
+            this.finished = finished;
+        }
+
+        @Override
+        public String toString() {
+            return "seed=" + seed + " score=" + score + " level=" + level + " ticks=" + ticks
+                    + (finished ? " (finished)" : "");
+        }
+    }
+
+    // Bot mẫu: chuột theo bóng thấp nhất, bóng còn nằm trên paddle thì launch
+    public static final Controller FOLLOW_BALL = (session, scene, tick) -> {
+        BallPool balls = session.getBalls();
+        int lowest = -1;
+        for (int i = 0; i < balls.size(); i++) {
+            if (balls.onPaddle[i]) {
+                scene.injectInput(InputRingBuffer.KEY_PRESSED, KeyCode.SPACE.ordinal(), 0);
+                return;
+            }
+            if (lowest < 0 || balls.y[i] > balls.y[lowest]) lowest = i;
+        }
+        if (lowest >= 0) {
+            scene.injectInput(InputRingBuffer.MOUSE_MOVED, 0, balls.x[lowest]);
+        }
+    };
+
+    private final ExecutorService executor = createExecutor();
+    private final double step;
+
+    public SessionHost(int simulationHz) {
+        if (simulationHz <= 0) {
+            throw new IllegalArgumentException("Invalid simulation rate: " + simulationHz);
+        }
+        this.step = 1.0 / simulationHz;
+    }
+
+    /**
+     * Virtual thread mỗi ván (JDK 21+). Reflection chỉ có tác dụng lúc chạy: trên JDK 17 vẫn chạy được
+     * với pool luồng thường cỡ số nhân. Không liên quan tới build - bản SIMD (src-simd) vẫn cần
+     * --add-modules jdk.incubator.vector lúc biên dịch, xem BatchIntegrator.create().
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("SessionHost: virtual threads not available, using platform threads");
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public Future<Result> submit(long seed, int maxTicks, Controller controller) {
+        return executor.submit(() -> run(seed, maxTicks, controller, step));
+    }
+
+    // Chạy trọn 1 ván trên luồng hiện tại
+    public static Result run(long seed, int maxTicks, Controller controller, double step) {
+        GameSession session = GameSession.createHeadless(seed);
+        boolean[] finished = new boolean[1];
+        GameScene scene = new GameScene(session, () -> finished[0] = true);
+        scene.start();
+
+        int tick = 0;
+        while (tick < maxTicks && !finished[0] && scene.isRunning()) {
+            controller.control(session, scene, tick);
+            scene.update(step);
+            tick++;
+        }
+        scene.cleanup();
+        return new Result(seed, scene.getScore(), scene.getCurrentLevel(), tick, finished[0]);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt(); // giữ cờ interrupt cho người gọi
+        }
+    }
+
+    // Chạy thử: N ván với bot mẫu + kiểm tra cùng seed cho cùng kết quả
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : Config.SIMULATION_HZ * 120;
+
+        try (SessionHost host = new SessionHost(Config.SIMULATION_HZ)) {
+            long start = System.nanoTime();
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int seed = 0; seed < sessions; seed++) {
+                futures.add(host.submit(seed, maxTicks, FOLLOW_BALL));
+            }
+
+            long totalTicks = 0;
+            for (Future<Result> future : futures) {
+                Result result = future.get();
+                totalTicks += result.ticks;
+                System.out.println(result);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d sessions, %d ticks in %.2f s (%.0f ticks/s)%n",
+                    sessions, totalTicks, seconds, totalTicks / seconds);
+
+            Result first = futures.get(0).get();
+            Result again = host.submit(0, maxTicks, FOLLOW_BALL).get();
+            System.out.println("Replay of seed 0 " + (first.score == again.score && first.ticks == again.ticks
+                    ? "matches" : "DIFFERS: " + again));
+        }
+    }
+}
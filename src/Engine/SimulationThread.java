@@ -0,0 +1,97 @@
+package Engine;
+
+import Utils.Config;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Luồng mô phỏng riêng (Config.SIMULATION_THREAD): gọi scene.update với bước cố định SIMULATION_HZ,
+ * tách khỏi luồng JavaFX (render). Scene công bố kết quả mỗi tick qua TripleBuffer.
+ *
+ * setScene() chờ tick đang chạy kết thúc -> sau khi trả về, luồng FX được phép
+ * start / cleanup scene mà không tranh chấp với luồng mô phỏng.
+ * Class final vì constructor đã đưa this cho Thread (lớp con chưa khởi tạo xong sẽ bị lộ ra).
+ */
+public final class SimulationThread implements Runnable {
+    private final Object tickLock = new Object();
+    private final Thread thread;
+    private final long stepNanos;
+    private final double stepSeconds;
+
+    private volatile SceneManager scene;
+    private volatile boolean running;
+
+    public SimulationThread(int hz) {
+        this.stepNanos = 1_000_000_000L / hz;
+        this.stepSeconds = 1.0 / hz;
+        this.thread = new Thread(this, "Simulation");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+        System.out.println("Simulation thread started at " + Config.SIMULATION_HZ + " Hz");
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    // Scene được mô phỏng (null = dừng mô phỏng), chờ tick hiện tại xong
+    public void setScene(SceneManager scene) {
+        synchronized (tickLock) {
+            this.scene = scene;
+        }
+        LockSupport.unpark(thread); // đánh thức nếu đang ngủ chờ scene
+    }
+
+    public SceneManager getScene() {
+        return scene;
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+
+        while (running) {
+            // Không có scene (pause, menu, cửa sổ thu nhỏ): ngủ hẳn tới khi setScene / shutdown,
+            // lúc chạy lại tính mốc từ đầu để không chạy bù thời gian đã ngủ
+            if (scene == null) {
+                LockSupport.park(this);
+                next = System.nanoTime();
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+
+            int steps = 0;
+            while (now >= next && steps < Config.MAX_CATCHUP_STEPS) {
+                synchronized (tickLock) {
+                    SceneManager current = scene;
+                    if (current != null) {
+                        try {
+                            current.update(stepSeconds);
+                        } catch (RuntimeException e) {
+                            System.err.println("Simulation tick failed: " + e.getMessage());
+                            e.printStackTrace();
+                        }
+                    }
+                }
+                next += stepNanos;
+                steps++;
+            }
+
+            // Tụt lại quá xa (GC, máy chậm): bỏ phần thiếu thay vì chạy bù dồn dập
+            if (now >= next) {
+                next = now + stepNanos;
+            }
+        }
+        System.out.println("Simulation thread stopped");
+    }
+}
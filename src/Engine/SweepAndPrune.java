@@ -0,0 +1,127 @@
+package Engine;
+
+import Entities.BallPool;
+
+import java.util.Arrays;
+
+/**
+ * Va chạm bóng - bóng với broadphase sweep-and-prune trên trục X.
+ * Danh sách bóng sắp theo cạnh trái được giữ qua các tick và sắp lại bằng insertion sort:
+ * bóng di chuyển ít mỗi tick nên danh sách gần như đã sắp, chi phí ~ O(n + số lần đổi chỗ).
+ * Chỉ các cặp chồng lấn trên trục X mới được kiểm tra chính xác, không có vòng lặp O(n²).
+ */
+public class SweepAndPrune {
+    private int[] order = new int[0];    // chỉ số bóng, sắp theo minX
+    private double[] minX = new double[0];
+    private boolean[] listed = new boolean[0];
+    private int count;
+
+    /**
+     * Đồng bộ danh sách với kho bóng rồi sắp lại.
+     * Sau swap-remove, chỉ số >= size bị loại; chỉ số chưa có (bóng mới) được thêm vào cuối.
+     */
+    public void update(BallPool balls) {
+        int size = balls.size();
+        ensureCapacity(size);
+
+        // Loại chỉ số không còn hợp lệ, đánh dấu chỉ số đã có
+        Arrays.fill(listed, 0, size, false);
+        int kept = 0;
+        for (int k = 0; k < count; k++) {
+            int ball = order[k];
+            if (ball < size && !listed[ball]) {
+                listed[ball] = true;
+                order[kept++] = ball;
+            }
+        }
+        for (int ball = 0; ball < size; ball++) {
+            if (!listed[ball]) order[kept++] = ball;
+        }
+        count = kept;
+
+        for (int k = 0; k < count; k++) {
+            int ball = order[k];
+            minX[k] = balls.x[ball] - balls.radius[ball];
+        }
+
+        // Insertion sort: gần như O(n) vì thứ tự tick trước gần đúng
+        for (int k = 1; k < count; k++) {
+            int ball = order[k];
+            double key = minX[k];
+            int j = k - 1;
+            while (j >= 0 && minX[j] > key) {
+                order[j + 1] = order[j];
+                minX[j + 1] = minX[j];
+                j--;
+            }
+            order[j + 1] = ball;
+            minX[j + 1] = key;
+        }
+    }
+
+    /**
+     * Quét danh sách đã sắp, xử lý va chạm đàn hồi (khối lượng bằng nhau) cho các cặp chồng lấn.
+     * Trả về số cặp đã va chạm.
+     */
+    public int resolveCollisions(BallPool balls) {
+        int collisions = 0;
+
+        for (int k = 0; k < count; k++) {
+            int a = order[k];
+            if (!balls.active[a]) continue;
+            double maxX = balls.x[a] + balls.radius[a];
+
+            for (int m = k + 1; m < count && minX[m] <= maxX; m++) {
+                int b = order[m];
+                if (!balls.active[b]) continue;
+
+                if (resolvePair(balls, a, b)) collisions++;
+            }
+        }
+        return collisions;
+    }
+
+    private boolean resolvePair(BallPool balls, int a, int b) {
+        double dx = balls.x[b] - balls.x[a];
+        double dy = balls.y[b] - balls.y[a];
+        double minDistance = balls.radius[a] + balls.radius[b];
+        double distanceSq = dx * dx + dy * dy;
+        if (distanceSq >= minDistance * minDistance) return false;
+
+        double distance = Math.sqrt(distanceSq);
+        double nx, ny;
+        if (distance > 0) {
+            nx = dx / distance;
+            ny = dy / distance;
+        } else {
+            nx = 1; // trùng tâm: tách theo trục X
+            ny = 0;
+        }
+
+        // Tách 2 bóng ra, mỗi bóng 1 nửa phần chồng lấn
+        double push = (minDistance - distance) / 2;
+        balls.x[a] -= nx * push;
+        balls.y[a] -= ny * push;
+        balls.x[b] += nx * push;
+        balls.y[b] += ny * push;
+
+        // Chỉ đổi vận tốc khi 2 bóng đang tiến lại gần nhau
+        double approach = (balls.vx[a] - balls.vx[b]) * nx + (balls.vy[a] - balls.vy[b]) * ny;
+        if (approach > 0) {
+            balls.vx[a] -= approach * nx;
+            balls.vy[a] -= approach * ny;
+            balls.vx[b] += approach * nx;
+            balls.vy[b] += approach * ny;
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int size) {
+        if (order.length < size) {
+            int capacity = Math.max(size, order.length * 2);
+            order = Arrays.copyOf(order, capacity);
+            minX = new double[capacity];
+            listed = new boolean[capacity];
+        }
+    }
+}
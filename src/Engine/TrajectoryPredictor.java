@@ -0,0 +1,117 @@
+package Engine;
+
+import Utils.Config;
+
+/**
+ * Dự đoán đường bay của bóng qua nhiều lần nảy (gạch tĩnh + tường) bằng raycast của CollisionManager.
+ * Dùng cho đường ngắm khi bóng nằm trên paddle và cho bot.
+ *
+ * Kết quả được cache: chỉ tính lại khi điểm xuất phát, hướng bay, số lần nảy
+ * hoặc layout gạch (BrickField.getVersion) thay đổi -> vẽ mỗi frame gần như không tốn gì.
+ * Gạch di chuyển không được tính (vị trí của chúng đổi mỗi tick).
+ */
+public class TrajectoryPredictor {
+    private final double[] pointsX;
+    private final double[] pointsY;
+    private int pointCount;
+    private int firstBrick = -1;
+
+    private final CollisionManager.SweepHit scratch = new CollisionManager.SweepHit();
+    private final CollisionManager.RayHit brickHit = new CollisionManager.RayHit();
+    private final CollisionManager.RayHit wallHit = new CollisionManager.RayHit();
+
+    // Khóa cache
+    private boolean cached;
+    private BrickField cachedField;
+    private int cachedVersion;
+    private double cachedX, cachedY, cachedDirX, cachedDirY, cachedRadius;
+    private int cachedBounces;
+
+    public TrajectoryPredictor(int maxBounces) {
+        pointsX = new double[maxBounces + 2];
+        pointsY = new double[maxBounces + 2];
+    }
+
+    /**
+     * Tính đường bay từ (x, y) theo hướng (dirX, dirY), tối đa bounces lần nảy.
+     * Đường dừng khi bóng rơi xuống đáy màn hình hoặc hết số lần nảy.
+     */
+    public void predict(BrickField field, double x, double y, double dirX, double dirY,
+                        double radius, int bounces) {
+        bounces = Math.min(bounces, pointsX.length - 2);
+        if (cached && field == cachedField && field.getVersion() == cachedVersion
+                && x == cachedX && y == cachedY && dirX == cachedDirX && dirY == cachedDirY
+                && radius == cachedRadius && bounces == cachedBounces) {
+            return;
+        }
+
+        cached = true;
+        cachedField = field;
+        cachedVersion = field.getVersion();
+        cachedX = x;
+        cachedY = y;
+        cachedDirX = dirX;
+        cachedDirY = dirY;
+        cachedRadius = radius;
+        cachedBounces = bounces;
+
+        pointCount = 0;
+        firstBrick = -1;
+        addPoint(x, y);
+
+        double maxDistance = Config.SCREEN_WIDTH + Config.SCREEN_HEIGHT;
+        for (int bounce = 0; bounce <= bounces; bounce++) {
+            boolean hitBrick = CollisionManager.raycastBricks(field, x, y, dirX, dirY, maxDistance, radius, scratch, brickHit);
+            boolean hitWall = CollisionManager.raycastWalls(x, y, dirX, dirY, maxDistance, radius, wallHit);
+
+            CollisionManager.RayHit hit = null;
+            if (hitBrick && (!hitWall || brickHit.distance <= wallHit.distance)) {
+                hit = brickHit;
+            } else if (hitWall) {
+                hit = wallHit;
+            }
+
+            // Rơi xuống đáy màn hình trước khi chạm gì -> hết đường
+            double floorDistance = dirY > 0 ? (Config.SCREEN_HEIGHT - y) / dirY : Double.MAX_VALUE;
+            if (hit == null || hit.distance > floorDistance) {
+                if (floorDistance != Double.MAX_VALUE) {
+                    addPoint(x + dirX * floorDistance, Config.SCREEN_HEIGHT);
+                }
+                return;
+            }
+            if (hit == brickHit && firstBrick < 0) firstBrick = brickHit.brick;
+
+            addPoint(hit.x, hit.y);
+            if (bounce == bounces) return;
+
+            // Phản xạ hướng theo pháp tuyến (như reflectBall)
+            if (hit.normalX != 0) dirX = hit.normalX * Math.abs(dirX);
+            if (hit.normalY != 0) dirY = hit.normalY * Math.abs(dirY);
+            x = hit.x;
+            y = hit.y;
+        }
+    }
+
+    private void addPoint(double x, double y) {
+        pointsX[pointCount] = x;
+        pointsY[pointCount] = y;
+        pointCount++;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public double getX(int i) {
+        return pointsX[i];
+    }
+
+    public double getY(int i) {
+        return pointsY[i];
+    }
+
+    // Gạch đầu tiên trên đường bay, -1 nếu không có (cho bot)
+    public int getFirstBrick() {
+        return firstBrick;
+    }
+}
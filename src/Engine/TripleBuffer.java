@@ -0,0 +1,49 @@
+package Engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bộ đệm 3 ô không khóa giữa 1 luồng ghi (mô phỏng) và 1 luồng đọc (render).
+ * Luồng ghi luôn có ô "back" riêng, luồng đọc luôn có ô "front" riêng;
+ * ô "middle" là chỗ trao đổi, đổi chỗ bằng 1 phép getAndSet nguyên tử.
+ * Không bên nào phải chờ bên kia; luồng đọc luôn thấy frame hoàn chỉnh mới nhất.
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100; // middle chứa frame chưa được đọc
+
+    private final Object[] slots;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // chỉ luồng ghi dùng
+    private int front = 2; // chỉ luồng đọc dùng
+
+    public TripleBuffer(T first, T second, T third) {
+        this.slots = new Object[]{first, second, third};
+    }
+
+    // === LUỒNG GHI ===
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) slots[back];
+    }
+
+    // Đưa ô vừa ghi ra giữa, nhận lại ô giữa cũ để ghi frame sau
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // === LUỒNG ĐỌC ===
+
+    // Lấy frame mới nhất (nếu có frame mới thì đổi front với middle), ô trả về thuộc luồng đọc tới lần gọi sau
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) slots[front];
+    }
+
+    public boolean hasNewFrame() {
+        return (middle.get() & FRESH) != 0;
+    }
+}
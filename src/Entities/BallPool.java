@@ -0,0 +1,251 @@
+package Entities;
+
+import Core.BatchIntegrator;
+import Utils.Config;
+import Utils.FixedPoint;
+
+/**
+ * Kho bóng dạng structure-of-arrays: vị trí, vận tốc, bán kính, cờ trạng thái nằm trong các mảng song song.
+ * Bóng được đánh chỉ số 0..size-1; xóa bằng swap-remove (bóng cuối thế chỗ) nên chỉ số không ổn định.
+ * Cần giữ tham chiếu tới 1 bóng lâu dài (vd. hiệu ứng hết hạn) thì dùng handle: handleOf(i) / indexOf(handle).
+ * Class final vì constructor gọi clear() để khởi tạo free-list / generation.
+ */
+public final class BallPool {
+    private static final int ID_BITS = 16;
+    private static final int ID_MASK = (1 << ID_BITS) - 1;
+    private static final double MIN_HORIZONTAL_SPEED = 50;
+    private static final BatchIntegrator INTEGRATOR = BatchIntegrator.create();
+
+    // Vận tốc phát bóng từ paddle: thẳng lên nhưng đã kẹp tốc độ ngang như lúc tích phân
+    // (đường ngắm dùng đúng vector này)
+    public static final double LAUNCH_VY = -Config.BALL_SPEED;
+    public static final double LAUNCH_VX = clampHorizontalSpeed(0, LAUNCH_VY);
+
+    // Dữ liệu bóng - truy cập trực tiếp trong vòng lặp nóng
+    public final double[] x, y;
+    public final double[] vx, vy;
+    public final double[] radius;
+    public final double[] prevX, prevY; // vị trí đầu tick (render nội suy)
+    public final boolean[] active;
+    public final boolean[] onPaddle;
+    public final boolean[] pierce;
+
+    private final int capacity;
+    private int size;
+
+    // Handle ổn định: id (tái sử dụng) + generation
+    private final int[] idOf;        // chỉ số -> id
+    private final int[] indexOfId;   // id -> chỉ số
+    private final int[] generation;  // id -> generation hiện tại
+    private final int[] freeIds;
+    private int freeCount;
+
+    public BallPool(int capacity) {
+        if (capacity <= 0 || capacity > ID_MASK + 1) {
+            throw new IllegalArgumentException("Invalid ball pool capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.vx = new double[capacity];
+        this.vy = new double[capacity];
+        this.radius = new double[capacity];
+        this.prevX = new double[capacity];
+        this.prevY = new double[capacity];
+        this.active = new boolean[capacity];
+        this.onPaddle = new boolean[capacity];
+        this.pierce = new boolean[capacity];
+
+        this.idOf = new int[capacity];
+        this.indexOfId = new int[capacity];
+        this.generation = new int[capacity];
+        this.freeIds = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Thêm bóng mới. active = false -> bóng nằm trên paddle chờ launch.
+     * Trả về chỉ số, hoặc -1 nếu kho đã đầy.
+     */
+    public int add(double px, double py, double pvx, double pvy, boolean launched) {
+        if (size >= capacity) return -1;
+
+        int i = size++;
+        int id = freeIds[--freeCount];
+        idOf[i] = id;
+        indexOfId[id] = i;
+
+        x[i] = px;
+        y[i] = py;
+        prevX[i] = px;
+        prevY[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        radius[i] = Config.BALL_SIZE / 2;
+        active[i] = launched;
+        onPaddle[i] = !launched;
+        pierce[i] = false;
+        return i;
+    }
+
+    // Swap-remove: bóng cuối thế chỗ bóng i
+    public void remove(int i) {
+        int last = --size;
+        int id = idOf[i];
+        generation[id] = (generation[id] + 1) & (Integer.MAX_VALUE >>> ID_BITS);
+        indexOfId[id] = -1;
+        freeIds[freeCount++] = id;
+
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            radius[i] = radius[last];
+            active[i] = active[last];
+            onPaddle[i] = onPaddle[last];
+            pierce[i] = pierce[last];
+
+            int movedId = idOf[last];
+            idOf[i] = movedId;
+            indexOfId[movedId] = i;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            int id = idOf[i];
+            generation[id] = (generation[id] + 1) & (Integer.MAX_VALUE >>> ID_BITS);
+            indexOfId[id] = -1;
+        }
+        size = 0;
+        freeCount = capacity;
+        for (int id = 0; id < capacity; id++) {
+            freeIds[id] = capacity - 1 - id; // id nhỏ được cấp trước
+            indexOfId[id] = -1;
+        }
+    }
+
+    // Lưu vị trí đầu tick để render nội suy giữa 2 tick
+    public void storePreviousPositions() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    // KHI BALL ĐƯỢC KÍCH HOẠT (LAUNCH)
+    public void launch(int i, double pvx, double pvy) {
+        active[i] = true;
+        onPaddle[i] = false;
+        vx[i] = pvx;
+        vy[i] = pvy;
+    }
+
+    public void launchFromPaddle(int i) {
+        launch(i, LAUNCH_VX, LAUNCH_VY);
+    }
+
+    // CẬP NHẬT VỊ TRÍ KHI THEO PADDLE
+    public void followPaddle(int i, double paddleX, double paddleY, double paddleHeight) {
+        if (onPaddle[i]) {
+            x[i] = paddleX;
+            y[i] = paddleY - paddleHeight / 2 - radius[i] - 1;
+        }
+    }
+
+    // x = xo + vt, giữ bóng không đi quá ngang
+    public void integrate(int i, double deltaTime) {
+        if (!active[i]) return;
+
+        if (Config.FIXED_POINT_PHYSICS) {
+            integrateFixed(i, FixedPoint.fromDouble(deltaTime));
+            return;
+        }
+        x[i] += vx[i] * deltaTime;
+        y[i] += vy[i] * deltaTime;
+        clampHorizontalSpeed(i);
+    }
+
+    // Tích phân cả đoạn [from, to) theo lô (SIMD nếu có), chỉ bóng đang bay
+    public void integrateRange(int from, int to, double deltaTime) {
+        if (Config.FIXED_POINT_PHYSICS) {
+            long dt = FixedPoint.fromDouble(deltaTime);
+            for (int i = from; i < to; i++) {
+                if (active[i]) integrateFixed(i, dt);
+            }
+            return;
+        }
+        INTEGRATOR.integrate(x, y, vx, vy, null, null, active, from, to, deltaTime);
+        for (int i = from; i < to; i++) {
+            if (active[i]) clampHorizontalSpeed(i);
+        }
+    }
+
+    public void integrateAll(double deltaTime) {
+        integrateRange(0, size, deltaTime);
+    }
+
+    // Bản số nguyên: trạng thái được làm tròn về lưới Q16 rồi tính hoàn toàn bằng long
+    private void integrateFixed(int i, long deltaTime) {
+        long fvx = FixedPoint.fromDouble(vx[i]);
+        long fvy = FixedPoint.fromDouble(vy[i]);
+        x[i] = FixedPoint.toDouble(FixedPoint.fromDouble(x[i]) + FixedPoint.mul(fvx, deltaTime));
+        y[i] = FixedPoint.toDouble(FixedPoint.fromDouble(y[i]) + FixedPoint.mul(fvy, deltaTime));
+
+        long minSpeed = (long) MIN_HORIZONTAL_SPEED << FixedPoint.FRACTION_BITS;
+        if (Math.abs(fvx) < minSpeed && fvy != 0) {
+            fvx = (fvx >= 0) ? minSpeed : -minSpeed;
+        }
+        vx[i] = FixedPoint.toDouble(fvx);
+        vy[i] = FixedPoint.toDouble(fvy);
+    }
+
+    private void clampHorizontalSpeed(int i) {
+        vx[i] = clampHorizontalSpeed(vx[i], vy[i]);
+    }
+
+    private static double clampHorizontalSpeed(double vx, double vy) {
+        if (Math.abs(vx) < MIN_HORIZONTAL_SPEED && Math.abs(vy) > 0) {
+            return (vx >= 0) ? MIN_HORIZONTAL_SPEED : -MIN_HORIZONTAL_SPEED;
+        }
+        return vx;
+    }
+
+    public double speed(int i) {
+        return Math.sqrt(vx[i] * vx[i] + vy[i] * vy[i]);
+    }
+
+    // === HANDLE ===
+    public int handleOf(int i) {
+        int id = idOf[i];
+        return (generation[id] << ID_BITS) | id;
+    }
+
+    // Chỉ số hiện tại của bóng, -1 nếu bóng đã bị xóa
+    public int indexOf(int handle) {
+        int id = handle & ID_MASK;
+        if (id >= capacity || generation[id] != handle >>> ID_BITS) return -1;
+        return indexOfId[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int countActive() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (active[i]) count++;
+        }
+        return count;
+    }
+}
@@ -1,9 +1,11 @@
 package Entities.Bricks;
 
 import Core.GameObject;
+import Utils.Config;
 
 /**
- * Lớp cha cho tất cả các loại gạch
+ * Lớp cha cho các loại gạch dạng đối tượng (gạch di chuyển: SliderBrick, OrbitBrick, DescendingBrick).
+ * Gạch tĩnh của layout nằm trong Engine.BrickField (lưới dày đặc), không tạo đối tượng Brick.
  */
 public abstract class Brick extends GameObject {
     protected double width, height;
@@ -35,11 +37,15 @@ public abstract class Brick extends GameObject {
     // Khi bóng chạm vào gạch
     public void onHit() {
         hitPoints--;
-        System.out.println("break " + name + " hit! HP: " + hitPoints + "/" + maxHitPoints);
+        if (Config.DEBUG_COLLISION_LOG) {
+            System.out.println("break " + name + " hit! HP: " + hitPoints + "/" + maxHitPoints);
+        }
 
         if (hitPoints <= 0) {
             toBeRemoved = true;
-            System.out.println("break " + name + " destroyed! +" + scoreValue + " points");
+            if (Config.DEBUG_COLLISION_LOG) {
+                System.out.println("break " + name + " destroyed! +" + scoreValue + " points");
+            }
         }
     }
 
@@ -56,6 +62,10 @@ public abstract class Brick extends GameObject {
         return hitPoints;
     }
 
+    public int getMaxHitPoints() {
+        return maxHitPoints;
+    }
+
     public int getScoreValue() {
         return scoreValue;
     }
@@ -0,0 +1,23 @@
+package Entities.Bricks;
+
+/**
+ * Gạch từ từ đi xuống, dừng lại ở floorY
+ */
+public class DescendingBrick extends Brick {
+    private final double speed;
+    private final double floorY;
+
+    public DescendingBrick(double x, double y, double width, double height, int hitPoints, int scoreValue,
+                           double speed, double floorY) {
+        super("DescendingBrick", x, y, width, height, hitPoints, scoreValue);
+        this.speed = speed;
+        this.floorY = floorY;
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        if (position.y + height >= floorY) return;
+
+        position.y = Math.min(position.y + speed * deltaTime, floorY - height);
+    }
+}
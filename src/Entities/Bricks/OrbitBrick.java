@@ -0,0 +1,47 @@
+package Entities.Bricks;
+
+import Utils.Config;
+import Utils.FixedPoint;
+
+/**
+ * Gạch quay tròn quanh 1 tâm (nhiều viên cùng tâm, lệch pha -> cụm xoay)
+ */
+public class OrbitBrick extends Brick {
+    private final double centerX, centerY;
+    private final double orbitRadius;
+    private final double angularSpeed; // độ / giây
+    private double angle;              // độ
+
+    public OrbitBrick(double centerX, double centerY, double orbitRadius, double angle, double angularSpeed,
+                      double width, double height, int hitPoints, int scoreValue) {
+        super("OrbitBrick", 0, 0, width, height, hitPoints, scoreValue);
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.orbitRadius = orbitRadius;
+        this.angularSpeed = angularSpeed;
+        this.angle = angle;
+        updatePosition();
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        angle = (angle + angularSpeed * deltaTime) % 360;
+        updatePosition();
+    }
+
+    private void updatePosition() {
+        double cos, sin;
+        if (Config.FIXED_POINT_PHYSICS) {
+            long degrees = FixedPoint.fromDouble(angle);
+            cos = FixedPoint.toDouble(FixedPoint.cosDeg(degrees));
+            sin = FixedPoint.toDouble(FixedPoint.sinDeg(degrees));
+        } else {
+            double radians = Math.toRadians(angle);
+            cos = Math.cos(radians);
+            sin = Math.sin(radians);
+        }
+        // position = góc trên trái, tâm gạch nằm trên quỹ đạo
+        position.x = centerX + orbitRadius * cos - width / 2;
+        position.y = centerY + orbitRadius * sin - height / 2;
+    }
+}
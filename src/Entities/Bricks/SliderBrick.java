@@ -0,0 +1,31 @@
+package Entities.Bricks;
+
+/**
+ * Gạch trượt ngang qua lại giữa minX và maxX
+ */
+public class SliderBrick extends Brick {
+    private final double minX, maxX;
+    private double speed;
+
+    public SliderBrick(double x, double y, double width, double height, int hitPoints, int scoreValue,
+                       double minX, double maxX, double speed) {
+        super("SliderBrick", x, y, width, height, hitPoints, scoreValue);
+        this.minX = minX;
+        this.maxX = maxX;
+        this.speed = speed;
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        position.x += speed * deltaTime;
+
+        // Đổi chiều khi chạm giới hạn
+        if (position.x < minX) {
+            position.x = minX;
+            speed = Math.abs(speed);
+        } else if (position.x + width > maxX) {
+            position.x = maxX - width;
+            speed = -Math.abs(speed);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package Entities.Power;
 
-import Entities.Ball;
+import Entities.BallPool;
 import Entities.Paddle;
 
-public class ExpandPaddle extends PowerUp {
-    private static final double EXPAND_FACTOR = 1.5;
+public class ExpandPaddle extends PowerUp implements PowerEffect {
+    public static final double EXPAND_FACTOR = 1.5; // GameScene scale sẵn sprite paddle cho cỡ này
+    private static final double DURATION = 10; // giây
 
     public ExpandPaddle(double x, double y) {
         super("ExpandPaddle", x, y);
@@ -15,20 +16,31 @@ public class ExpandPaddle extends PowerUp {
         super.start(); // Gọi parent start()
     }
 
+    // Hết hạn do EffectScheduler (GameScene kích hoạt qua scheduler)
     @Override
-    public void applyEffect(Paddle paddle, Ball ball) {
+    public void applyEffect(Paddle paddle, BallPool balls, int ball) {
+        activate(paddle, balls, ball);
+    }
+
+    @Override
+    public void activate(Paddle paddle, BallPool balls, int ball) {
         System.out.println("Expand Paddle activated!");
         paddle.expand(EXPAND_FACTOR);
+    }
 
-        new java.util.Timer().schedule(
-                new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        paddle.resetSize();
-                        System.out.println("Expand Paddle deactivated");
-                    }
-                },
-                10000
-        );
+    @Override
+    public void deactivate(Paddle paddle, BallPool balls, int ball) {
+        paddle.resetSize();
+        System.out.println("Expand Paddle deactivated");
+    }
+
+    @Override
+    public String getEffectName() {
+        return "ExpandPaddle";
+    }
+
+    @Override
+    public double getDuration() {
+        return DURATION;
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,11 @@
 package Entities.Power;
 
-import Entities.Ball;
+import Entities.BallPool;
 import Entities.Paddle;
 
-public class FastBall extends PowerUp {
+public class FastBall extends PowerUp implements PowerEffect {
     private static final double SPEED_BOOST = 1.5;
+    private static final double DURATION = 8; // giây
 
     public FastBall(double x, double y) {
         super("FastBall", x, y);
@@ -15,23 +16,39 @@ public class FastBall extends PowerUp {
         super.start(); // Gọi parent start()
     }
 
+    // Hết hạn do EffectScheduler (GameScene kích hoạt qua scheduler)
     @Override
-    public void applyEffect(Paddle paddle, Ball ball) {
+    public void applyEffect(Paddle paddle, BallPool balls, int ball) {
+        activate(paddle, balls, ball);
+    }
+
+    @Override
+    public void activate(Paddle paddle, BallPool balls, int ball) {
         System.out.println("Fast Ball activated!");
+        balls.vx[ball] *= SPEED_BOOST;
+        balls.vy[ball] *= SPEED_BOOST;
+    }
 
-        ball.getVelocity().x *= SPEED_BOOST;
-        ball.getVelocity().y *= SPEED_BOOST;
-
-        new java.util.Timer().schedule(
-                new java.util.TimerTask() {
-                    @Override
-                    public void run() {
-                        ball.getVelocity().x /= SPEED_BOOST;
-                        ball.getVelocity().y /= SPEED_BOOST;
-                        System.out.println("⚡ Fast Ball deactivated");
-                    }
-                },
-                8000
-        );
-    }
-}
\ No newline at end of file
+    // Scheduler đã đổi handle -> chỉ số hiện tại và bỏ qua nếu bóng đã mất
+    @Override
+    public void deactivate(Paddle paddle, BallPool balls, int ball) {
+        balls.vx[ball] /= SPEED_BOOST;
+        balls.vy[ball] /= SPEED_BOOST;
+        System.out.println("⚡ Fast Ball deactivated");
+    }
+
+    @Override
+    public String getEffectName() {
+        return "FastBall";
+    }
+
+    @Override
+    public double getDuration() {
+        return DURATION;
+    }
+
+    @Override
+    public boolean targetsBall() {
+        return true;
+    }
+}
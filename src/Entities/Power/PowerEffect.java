@@ -1,12 +1,24 @@
 package Entities.Power;
 
-import Entities.Ball;
+import Entities.BallPool;
 import Entities.Paddle;
 
+/**
+ * Hiệu ứng có thời hạn: EffectScheduler gọi activate khi nhặt, deactivate khi hết giờ (theo thời gian game).
+ */
 public interface PowerEffect {
-    void activate(Paddle paddle, Ball ball);
+    void activate(Paddle paddle, BallPool balls, int ball);
 
-    void deactivate(Paddle paddle, Ball ball);
+    // ball = -1 nếu hiệu ứng không gắn với bóng
+    void deactivate(Paddle paddle, BallPool balls, int ball);
 
     String getEffectName();
-}
\ No newline at end of file
+
+    // Thời gian hiệu lực (giây game - dừng khi pause)
+    double getDuration();
+
+    // true: hiệu ứng gắn với 1 bóng cụ thể, hết hạn thì bỏ qua nếu bóng đã mất
+    default boolean targetsBall() {
+        return false;
+    }
+}
@@ -1,30 +1,16 @@
 package Entities.Power;
 
-import Entities.Ball;
-import UI.GameScene;
+import Engine.GameSession;
 
-import java.util.List;
 import java.util.Random;
 
 
 public class PowerFactory {
-    private static final Random random = new Random();
 
-    //Giữ tham chiếu tới danh sách bóng trong GameScene
-    private static List<Ball> sharedBalls;
+    // Kho bóng, scene và random lấy từ phiên chơi (không còn static dùng chung giữa các ván)
+    public static PowerUp createRandomPowerUp(GameSession session, double x, double y) {
+        Random random = session.getRandom();
 
-    //Gọi từ GameScene.start() để truyền danh sách bóng
-    public static void setBalls(List<Ball> balls) {
-        sharedBalls = balls;
-    }
-
-    private static GameScene gameScene;
-
-    public static void setGameScene(GameScene scene) {
-        gameScene = scene;
-    }
-
-    public static PowerUp createRandomPowerUp(double x, double y) {
         // 30% chance to spawn a power-up
         if (random.nextDouble() > 0.3) {
             return null; // không spawn
@@ -37,15 +23,15 @@ public class PowerFactory {
             case 1:
                 return new FastBall(x, y);
             case 2:
-                if (sharedBalls != null) return new PowerUpMultiBall(x, y, sharedBalls);
+                if (session.getBalls() != null) return new PowerUpMultiBall(x, y, session);
                 else {
                     System.err.println("PowerFactory: balls list not set!");
                     return null;
                 }
             case 3:
-                return new PowerUpExtraLive(x, y, gameScene);
+                return new PowerUpExtraLive(x, y, session);
             case 4:
-                return new PowerUpPierceBall(x, y);
+                return new PowerUpPierceBall(x, y, session);
             default:
                 return null;
         }
@@ -1,17 +1,19 @@
 package Entities.Power;
 
 import Core.GameObject;
-import Entities.Ball;
+import Entities.BallPool;
 import Entities.Paddle;
 import Utils.Config;
 
 public abstract class PowerUp extends GameObject {
     protected boolean collected = false;
     protected double velocityY;
+    protected double previousY; // vị trí tick trước (render nội suy)
 
     public PowerUp(String name, double x, double y) {
         super(name, x, y);
         this.velocityY = Config.BONUS_BLOCK_SPEED;
+        this.previousY = y;
     }
 
     @Override
@@ -23,6 +25,7 @@ public abstract class PowerUp extends GameObject {
     public void update(double deltaTime) {
         if (collected) return;
 
+        previousY = position.y;
         position.y += velocityY * deltaTime;
 
         if (position.y > Config.SCREEN_HEIGHT) {
@@ -31,6 +34,10 @@ public abstract class PowerUp extends GameObject {
         }
     }
 
+    public double getPreviousY() {
+        return previousY;
+    }
+
     public boolean isCollected() {
         return collected;
     }
@@ -39,5 +46,6 @@ public abstract class PowerUp extends GameObject {
         collected = true;
     }
 
-    public abstract void applyEffect(Paddle paddle, Ball ball);
+    // ball: chỉ số bóng chính trong BallPool
+    public abstract void applyEffect(Paddle paddle, BallPool balls, int ball);
 }
\ No newline at end of file
@@ -1,30 +1,24 @@
 package Entities.Power;
 
-import Entities.Ball;
+import Engine.GameSession;
+import Entities.BallPool;
 import Entities.Paddle;
 import UI.GameScene;
-import javafx.scene.image.Image;
 
 public class PowerUpExtraLive extends PowerUp {
 
     private GameScene gameScene;
 
-    public PowerUpExtraLive(double x, double y, GameScene gameScene) {
+    public PowerUpExtraLive(double x, double y, GameSession session) {
         super("ExtraLive", x, y);
-        this.gameScene = gameScene;
+        this.gameScene = session.getScene();
 
-        // Load icon - thêm xử lý lỗi
-        try {
-            Image icon = new Image(getClass().getResourceAsStream("/images/powerup/extralive.png"));
-            setSprite(icon);
-        } catch (Exception e) {
-            System.err.println("Error loading extralive icon: " + e.getMessage());
-            // Nếu không load được ảnh, power-up vẫn hoạt động bình thường
-        }
+        // SpriteLoader trả placeholder nếu thiếu ảnh (null khi không giao diện) - power-up vẫn hoạt động bình thường
+        setSprite(session.getSpriteLoader().loadSprite("/images/powerup/extralive.png"));
     }
 
     @Override
-    public void applyEffect(Paddle paddle, Ball ball) {
+    public void applyEffect(Paddle paddle, BallPool balls, int ball) {
         System.out.println("PowerUp: +1 Live");
         if (gameScene != null) {
             gameScene.addLive();
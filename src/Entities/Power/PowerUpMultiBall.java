@@ -1,53 +1,59 @@
 package Entities.Power;
 
-import Entities.Ball;
+import Engine.GameSession;
+import Entities.BallPool;
 import Entities.Paddle;
-import javafx.scene.image.Image;
+import Utils.Config;
+import Utils.FixedPoint;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
 
 public class PowerUpMultiBall extends PowerUp {
-    private List<Ball> balls;
-    private Image icon;
+    private final Random random; // random của phiên chơi
 
-    public PowerUpMultiBall(double x, double y, List<Ball> balls) {
+    public PowerUpMultiBall(double x, double y, GameSession session) {
         super("MultiBall", x, y);
-        this.balls = balls;
-        this.icon = new Image("file:assets/images/powerup/multiball.png");
-        setSprite(icon);
+        this.random = session.getRandom();
+        setSprite(session.getSpriteLoader().loadSprite("/images/powerup/multiball.png"));
     }
 
     @Override
-    public void applyEffect(Paddle paddle, Ball ball) {
+    public void applyEffect(Paddle paddle, BallPool balls, int ball) {
         if (balls == null || balls.isEmpty()) return;
 
         System.out.println("PowerUp: MultiBall activated!");
 
-        List<Ball> newBalls = new ArrayList<>();
+        // Ball storm cho phép tới hết sức chứa của kho bóng
+        int limit = Config.BALL_STORM ? balls.capacity() : Config.MAX_BALLS;
+        if (balls.size() + balls.countActive() > limit) {
+            System.out.println("Too many balls, limiting MultiBall effect!");
+            return;
+        }
 
-        for (Ball original : balls) {
-            if (!original.isActive()) continue;
-            Ball clone = new Ball(original.getPosition().x, original.getPosition().y);
+        // Chỉ nhân bản các bóng có từ trước (bóng mới được thêm vào cuối kho)
+        int count = balls.size();
+        for (int i = 0; i < count; i++) {
+            if (!balls.active[i]) continue;
 
             // Tạo hướng bay lệch nhẹ
-            double angleOffset = (Math.random() * 0.6 - 0.3); // ~ ±17°
-            double vx = original.getVelocity().x;
-            double vy = original.getVelocity().y;
-
-            double newVx = vx * Math.cos(angleOffset) - vy * Math.sin(angleOffset);
-            double newVy = vx * Math.sin(angleOffset) + vy * Math.cos(angleOffset);
-
-            clone.setVelocity(newVx, newVy);
-            clone.setActive(true);
-            newBalls.add(clone);
-        }
-
-        if (balls.size() + newBalls.size() > 10) {
-            System.out.println("Too many balls, limiting MultiBall effect!");
-            return;
+            double angleOffset = (random.nextDouble() * 0.6 - 0.3); // ~ ±17°
+            double vx = balls.vx[i];
+            double vy = balls.vy[i];
+
+            double newVx, newVy;
+            if (Config.FIXED_POINT_PHYSICS) {
+                long angle = FixedPoint.fromDouble(Math.toDegrees(angleOffset));
+                long cos = FixedPoint.cosDeg(angle), sin = FixedPoint.sinDeg(angle);
+                long fvx = FixedPoint.fromDouble(vx), fvy = FixedPoint.fromDouble(vy);
+                newVx = FixedPoint.toDouble(FixedPoint.mul(fvx, cos) - FixedPoint.mul(fvy, sin));
+                newVy = FixedPoint.toDouble(FixedPoint.mul(fvx, sin) + FixedPoint.mul(fvy, cos));
+            } else {
+                newVx = vx * Math.cos(angleOffset) - vy * Math.sin(angleOffset);
+                newVy = vx * Math.sin(angleOffset) + vy * Math.cos(angleOffset);
+            }
+
+            balls.add(balls.x[i], balls.y[i], newVx, newVy, true);
         }
-        balls.addAll(newBalls);
         collect();
     }
 }
@@ -1,21 +1,20 @@
 package Entities.Power;
 
-import Entities.Ball;
+import Engine.GameSession;
+import Entities.BallPool;
 import Entities.Paddle;
-import javafx.scene.image.Image;
-import javafx.scene.paint.Color;
 
 public class PowerUpPierceBall extends PowerUp {
 
-    public PowerUpPierceBall(double x, double y) {
+    public PowerUpPierceBall(double x, double y, GameSession session) {
         super("PierceBall", x, y);
-        setSprite(new Image("file:assets/images/powerup/pierceball.png"));
+        setSprite(session.getSpriteLoader().loadSprite("/images/powerup/pierceball.png"));
     }
 
     @Override
-    public void applyEffect(Paddle paddle, Ball ball) {
+    public void applyEffect(Paddle paddle, BallPool balls, int ball) {
         System.out.println("PowerUp: Pierce Ball Activated!");
-        ball.setPierce(true);
+        balls.pierce[ball] = true;
         collect();
     }
 }
@@ -33,6 +33,8 @@ public class GameOverScene extends SceneManager {
 
     // Animation
     private double pulseValue;
+    private double drawnPulseValue; // pulse của lần vẽ gần nhất
+    private static final double PULSE_REDRAW_STEP = 0.05; // chỉ vẽ lại khi độ mờ chữ đổi đủ thấy
     private long lastUpdateTime;
 
     public GameOverScene(GraphicsContext ctx, int score, int level, Runnable onRestartGame, Runnable onReturnToMenu) {
@@ -62,7 +64,7 @@ public class GameOverScene extends SceneManager {
         };
 
         for (String path : paths) {
-            backgroundImage = spriteLoader.loadSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false);
+            backgroundImage = spriteLoader.loadBackground(path);
             if (backgroundImage != null && !backgroundImage.isError()) {
                 System.out.println("GameOverScene background loaded: " + path);
                 return;
@@ -87,10 +89,21 @@ public class GameOverScene extends SceneManager {
         long currentTime = System.currentTimeMillis();
         pulseValue = Math.sin(currentTime * 0.005) * 0.3 + 0.7;
         lastUpdateTime = currentTime;
+
+        // Chữ nhấp nháy là thứ duy nhất đổi theo thời gian: tự invalidate theo bước, không vẽ lại mỗi frame
+        if (Math.abs(pulseValue - drawnPulseValue) >= PULSE_REDRAW_STEP) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return false;
     }
 
     @Override
     public void render() {
+        drawnPulseValue = pulseValue;
         drawBackground();
         drawGameOverMenu();
     }
@@ -1,25 +1,39 @@
 package UI;
 
-import Engine.CollisionManager;
+import Engine.CollisionPhase;
+import Engine.EffectScheduler;
+import Engine.GameEventBuffer;
+import Engine.GameSession;
 import Engine.GameEngine;
+import Engine.BrickField;
+import Engine.CanvasLayers;
+import Engine.DirtyRegions;
 import Engine.LevelManager;
+import Engine.MovingBrickSet;
 import Engine.SceneManager;
-import Entities.Ball;
+import Engine.SweepAndPrune;
+import Engine.TrajectoryPredictor;
+import Engine.InputRingBuffer;
+import Engine.TripleBuffer;
+import Engine.QualityGovernor;
+import Entities.BallPool;
 import Entities.Bricks.Brick;
-import Entities.Bricks.NormalBrick;
-import Entities.Bricks.StrongBrick;
 import Entities.Paddle;
+import Entities.Power.ExpandPaddle;
+import Entities.Power.PowerEffect;
 import Entities.Power.PowerFactory;
 import Entities.Power.PowerUp;
 import Utils.Config;
-import Utils.SaveManager;
 import Utils.SoundManager;
+import Utils.LatencyHistogram;
 import Utils.SpriteLoader;
+import javafx.application.Platform;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
@@ -33,24 +47,69 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class GameScene extends SceneManager {
-    private GraphicsContext ctx;
+    private GraphicsContext ctx; // bút đang vẽ: lớp động, hoặc lớp tĩnh trong lúc renderStaticLayers()
     private Canvas canvas;
+    private final GraphicsContext dynamicCtx;
+    private final CanvasLayers layers; // null khi không có giao diện hoặc tắt Config.LAYERED_CANVAS
+    private final DirtyRegions dirtyRegions; // null nếu lớp động luôn vẽ lại toàn bộ (Config.DIRTY_RECTS)
+    private boolean partialRedraw; // frame đang vẽ bị clip theo vùng bẩn -> bỏ qua đối tượng nằm ngoài
     private SoundManager soundManager;
     private SpriteLoader spriteLoader;
+    private final GameSession session; // âm thanh / save / sprite / random của ván này
 
     // Game objects
     private Paddle paddle;
-    private List<Ball> balls;
+    private BallPool balls;
     private LevelManager levelManager;
     private List<PowerUp> powerUps;
+    private final CollisionPhase collisionPhase = new CollisionPhase();
+    private final SweepAndPrune ballBroadphase = new SweepAndPrune();
+    private final EffectScheduler effects = new EffectScheduler(); // hiệu ứng có thời hạn (theo giờ game)
+    private final GameEventBuffer events = new GameEventBuffer(); // sự kiện gameplay của tick hiện tại
+    private final TrajectoryPredictor aimPreview = new TrajectoryPredictor(Config.AIM_PREVIEW_BOUNCES);
+    private static final double[] AIM_DASHES = {6, 6};
+    private double lastPaddleX; // vị trí paddle cuối frame trước (cho swept collision)
+    private double paddlePrevX; // vị trí paddle đầu tick (render nội suy)
+    private double renderAlpha; // alpha nội suy của frame đang vẽ
     private int score;
     private int lives;
-    private boolean isRunning;
+    private volatile boolean isRunning;
 
     // Pause scene và trạng thái pause
     private GameEngine gameEngine;
     private Runnable onGameOver;
-    private boolean isPaused = false;
+    private volatile boolean isPaused = false;
+
+    // Frame render: mô phỏng ghi snapshot, render đọc snapshot mới nhất (Config.SIMULATION_THREAD: 2 luồng khác nhau)
+    private final TripleBuffer<GameSnapshot> snapshots =
+            new TripleBuffer<>(new GameSnapshot(), new GameSnapshot(), new GameSnapshot());
+    private GameSnapshot frame;
+    // Input có mốc thời gian: luồng FX ghi, tick mô phỏng đọc và áp dụng đúng thời điểm trong tick
+    private final InputRingBuffer input = new InputRingBuffer(INPUT_BUFFER_SIZE);
+    private static final int INPUT_BUFFER_SIZE = 256;
+    private static final KeyCode[] KEY_CODES = KeyCode.values(); // values() tạo mảng mới mỗi lần gọi
+    private long simTime; // đồng hồ mô phỏng (nanoTime): thời điểm kết thúc tick vừa chạy
+    // Đo độ trễ input -> frame (Config.LATENCY_STATS): mốc input đang chờ được vẽ / mốc đã vẽ
+    private long pendingInputTime;
+    private volatile long renderedInputTime;
+
+    // Dữ liệu đang có trên các lớp tĩnh - khác frame hiện tại thì vẽ lại lớp đó
+    private int drawnLayerGeneration = -1;
+    private Image drawnBackground;
+    private Color drawnBackgroundColor;
+    private int drawnBrickRevision = -1;
+    private int drawnScore = -1, drawnLives = -1, drawnLevel = -1;
+    private boolean drawnSoundEnabled, drawnMouseControl;
+
+    // Khóa hình dạng cho DirtyRegions: cùng hộp + cùng khóa = pixel trên lớp động vẫn đúng
+    private static final long KEY_PADDLE = 1;
+    private static final long KEY_BALL = 2;
+    private static final long KEY_AIM = 3;
+    private static final long KEY_LATENCY = 4;
+    private static final long KEY_BRICK = 5;
+    private static final long KEY_POWERUP = 6;
+    private static final double POWERUP_SIZE = 25;
+    private static final int HUD_ICON_SIZE = 24;
 
     // Mouse control
     private boolean mouseControlEnabled = false;
@@ -59,6 +118,7 @@ public class GameScene extends SceneManager {
     // Sprite references
     private Image gameBackground;
     private Image paddleImage;
+    private Image paddleExpandedImage; // cỡ ExpandPaddle
     private Image ballImage;
     private Image brickNormalImage;
     private Image brickStrongImage;
@@ -85,42 +145,71 @@ public class GameScene extends SceneManager {
     //
     // runable: interface chứa run()
     // Runnable onGameOver: hàm call back có thể chạy sau này để xử lý khi game kết thúc
-    public GameScene(GraphicsContext ctx, GameEngine gameEngine, Runnable onGameOver) {
+    public GameScene(GraphicsContext ctx, GameEngine gameEngine, GameSession session, Runnable onGameOver) {
         this.ctx = ctx;
-        this.canvas = ctx.getCanvas();
+        this.dynamicCtx = ctx;
+        this.canvas = ctx != null ? ctx.getCanvas() : null;
+        this.layers = gameEngine != null && Config.LAYERED_CANVAS ? gameEngine.getLayers() : null;
+        this.dirtyRegions = layers != null && Config.DIRTY_RECTS ? new DirtyRegions() : null;
         this.gameEngine = gameEngine;
+        this.session = session;
         this.onGameOver = onGameOver;
-        this.soundManager = SoundManager.getInstance();
-        this.spriteLoader = SpriteLoader.getInstance();
+        this.soundManager = session.getSoundManager();
+        this.spriteLoader = session.getSpriteLoader();
         this.isRunning = true;
-        this.levelManager = new LevelManager();
+        this.levelManager = new LevelManager(!session.isHeadless());
 
-        loadGameSprites(); // load chuẩn bị cho render
-        setupMouseControls();
+        // Thứ tự đăng ký = thứ tự xử lý: điểm cộng trước để lưu game thấy điểm mới nhất
+        events.subscribe(this::applyScoreEvents);
+        events.subscribe(this::playEventSounds);
+        events.subscribe(this::spawnEventPowerUps);
+        events.subscribe(this::saveEventProgress);
+
+        if (canvas != null) {
+            loadGameSprites(); // load chuẩn bị cho render
+            setupMouseControls();
+        }
+    }
+
+    // Ván không giao diện (GameSession.createHeadless): không canvas, không GameEngine - chỉ gọi start() / update()
+    public GameScene(GameSession session, Runnable onGameOver) {
+        this(null, null, session, onGameOver);
     }
 
     private void loadGameSprites() {
-        paddleImage = spriteLoader.loadSprite("/images/paddle.png");
-        ballImage = spriteLoader.loadSprite("/images/ball.png");
-        brickNormalImage = spriteLoader.loadSprite("/images/bricks/normal.png");
-        brickStrongImage = spriteLoader.loadSprite("/images/bricks/strong.png");
-        brickStrongCrackedImage = spriteLoader.loadSprite("/images/bricks/strong_cracked.png");
-
-        powerupExpandImage = spriteLoader.loadSprite("/images/powerup/expand.png");
-        powerupFastballImage = spriteLoader.loadSprite("/images/powerup/fastball.png");
-        powerupMultiballImage = spriteLoader.loadSprite("/images/powerup/multiball.png");
-        powerupExtraliveImage = spriteLoader.loadSprite("/images/powerup/extralive.png");
-        powerupPierceballImage = spriteLoader.loadSprite("/images/powerup/pierceball.png");
-
-        heartIcon = spriteLoader.loadSprite("/images/icons/heart.png", 20, 20, true, true);
-        soundOnIcon = spriteLoader.loadSprite("/images/icons/sound_on.png", 20, 20, true, true);
-        soundOffIcon = spriteLoader.loadSprite("/images/icons/sound_off.png", 20, 20, true, true);
-        mouseOnIcon = spriteLoader.loadSprite("/images/icons/mouse_on.png", 20, 20, true, true);
-        mouseOffIcon = spriteLoader.loadSprite("/images/icons/mouse_off.png", 20, 20, true, true);
+        // Scale sẵn theo kích thước vẽ -> drawImage trong render là chép 1:1 (xem drawSprite)
+        paddleImage = spriteLoader.loadScaledSprite("/images/paddle.png",
+                Config.PADDLE_STD_WIDTH, Config.PADDLE_STD_HEIGHT);
+        paddleExpandedImage = spriteLoader.loadScaledSprite("/images/paddle.png",
+                Config.PADDLE_STD_WIDTH * ExpandPaddle.EXPAND_FACTOR, Config.PADDLE_STD_HEIGHT);
+        ballImage = spriteLoader.loadScaledSprite("/images/ball.png", Config.BALL_SIZE, Config.BALL_SIZE);
+        brickNormalImage = loadBrickSprite("/images/bricks/normal.png");
+        brickStrongImage = loadBrickSprite("/images/bricks/strong.png");
+        brickStrongCrackedImage = loadBrickSprite("/images/bricks/strong_cracked.png");
+
+        powerupExpandImage = loadPowerUpSprite("/images/powerup/expand.png");
+        powerupFastballImage = loadPowerUpSprite("/images/powerup/fastball.png");
+        powerupMultiballImage = loadPowerUpSprite("/images/powerup/multiball.png");
+        powerupExtraliveImage = loadPowerUpSprite("/images/powerup/extralive.png");
+        powerupPierceballImage = loadPowerUpSprite("/images/powerup/pierceball.png");
+
+        heartIcon = spriteLoader.loadSprite("/images/icons/heart.png", HUD_ICON_SIZE, HUD_ICON_SIZE, true, true);
+        soundOnIcon = spriteLoader.loadSprite("/images/icons/sound_on.png", HUD_ICON_SIZE, HUD_ICON_SIZE, true, true);
+        soundOffIcon = spriteLoader.loadSprite("/images/icons/sound_off.png", HUD_ICON_SIZE, HUD_ICON_SIZE, true, true);
+        mouseOnIcon = spriteLoader.loadSprite("/images/icons/mouse_on.png", HUD_ICON_SIZE, HUD_ICON_SIZE, true, true);
+        mouseOffIcon = spriteLoader.loadSprite("/images/icons/mouse_off.png", HUD_ICON_SIZE, HUD_ICON_SIZE, true, true);
 
         System.out.println("Game sprites loaded successfully");
     }
 
+    private Image loadBrickSprite(String path) {
+        return spriteLoader.loadScaledSprite(path, Config.BLOCK_WIDTH, Config.BLOCK_HEIGHT);
+    }
+
+    private Image loadPowerUpSprite(String path) {
+        return spriteLoader.loadScaledSprite(path, POWERUP_SIZE, POWERUP_SIZE);
+    }
+
     private void setupMouseControls() {
         canvas.setOnMouseMoved(this::handleMouseMoved);
         canvas.setOnMouseDragged(this::handleMouseDragged);
@@ -133,6 +222,11 @@ public class GameScene extends SceneManager {
         levelManager.loadLevel(levelIndex);
     }
 
+    // GameEngine.pauseGame: phím P / ESC hoặc cửa sổ mất focus - bỏ qua input chuột tới khi resume
+    public void onPaused() {
+        isPaused = true;
+    }
+
     public void resumeFromPause() {
         isPaused = false;
         // System.out.println("GameScene resumed from pause");
@@ -149,13 +243,17 @@ public class GameScene extends SceneManager {
         double paddleX = Config.SCREEN_WIDTH / 2;
         double paddleY = Config.SCREEN_HEIGHT - Config.PADDLE_OFFSET_Y;
         paddle = new Paddle(paddleX, paddleY);
+        lastPaddleX = paddleX;
+        paddlePrevX = paddleX;
 
-        balls = new ArrayList<>(); // vì sau này có thể có > 1 ball
+        balls = new BallPool(Config.BALL_POOL_CAPACITY); // sau này có thể có hàng nghìn bóng (ball storm)
         spawnBall(); // bóng đầu tiên bay ra trong game
-        PowerFactory.setBalls(balls);
-        PowerFactory.setGameScene(this);
+        session.setBalls(balls);
+        session.setScene(this);
 
         powerUps = new ArrayList<>();
+        effects.clear();
+        events.clear();
         score = 0;
         lives = 3;
 
@@ -168,41 +266,69 @@ public class GameScene extends SceneManager {
 
         soundManager.onGameStart(); // Báo cho SoundManager biết rằng gameplay bắt đầu
         // System.out.println("GameScene: Game start signal sent to SoundManager");
+
+        input.clear();
+        simTime = System.nanoTime();
+        pendingInputTime = 0;
+        renderedInputTime = 0;
+        if (!session.isHeadless()) {
+            publishSnapshot(); // frame đầu tiên trước khi luồng mô phỏng chạy
+        }
     }
 
     @Override
     public void update(double deltaTime) {
         if (!isRunning || isPaused) return;
 
-        // Update paddle
-        if (mouseControlEnabled) {
-            paddle.moveToMouse(mouseX);
-        } else {
-            paddle.update(deltaTime);
-        }
+        // Trạng thái đầu tick cho render nội suy
+        paddlePrevX = paddle.getPosition().x;
+        balls.storePreviousPositions();
 
-        // Update balls
-        for (Ball ball : balls) {
-            if (ball.isOnPaddle()) {
-                ball.followPaddle(paddle.getPosition().x, paddle.getPosition().y, paddle.getHeight());
-            }
-            if (ball.isActive()) {
-                ball.update(deltaTime);
+        // Input + paddle: chuột chỉ áp dụng qua event, bàn phím đổi vận tốc đúng thời điểm trong tick
+        processInput(deltaTime);
+
+        // Bóng nằm trên paddle đi theo paddle
+        for (int i = 0; i < balls.size(); i++) {
+            if (balls.onPaddle[i]) {
+                balls.followPaddle(i, paddle.getPosition().x, paddle.getPosition().y, paddle.getHeight());
             }
         }
 
-        // Update power-ups
+        // Update balls: di chuyển + va chạm paddle/gạch/tường (tuần tự hoặc song song)
+        levelManager.updateMovingBricks(deltaTime);
+        collisionPhase.run(balls, paddle, lastPaddleX, levelManager.getBrickField(),
+                levelManager.getMovingBricks(), deltaTime);
+        lastPaddleX = paddle.getPosition().x;
+        applyCollisionResults();
+
+        // Va chạm bóng - bóng: chạy tuần tự sau pha va chạm để kết quả ổn định
+        if (Config.BALL_BALL_COLLISION) {
+            ballBroadphase.update(balls);
+            ballBroadphase.resolveCollisions(balls);
+        }
+
+        // Update power-ups + hết hạn hiệu ứng (đồng hồ game, đứng yên khi pause)
         updatePowerUps(deltaTime);
+        effects.update(deltaTime, paddle, balls);
 
         // Check collisions
-        checkCollisions();
         checkPowerUpCollisions();
 
         // Clean up collected power-ups
-        powerUps.removeIf(PowerUp::isCollected);
+        removeCollectedPowerUps();
 
         // Kiểm tra hoàn thành level
-        if (levelManager.isLevelCompleted()) {
+        boolean levelCompleted = levelManager.isLevelCompleted();
+        if (levelCompleted) {
+            events.add(GameEventBuffer.LEVEL_COMPLETE, -1, -1, 0, 0, levelManager.getCurrentLevel(), 0);
+        }
+
+        // Subscriber xử lý sự kiện của tick: điểm, âm thanh, spawn power-up, lưu tiến trình
+        events.dispatch();
+
+        // Mất bóng / game over sau khi đã cộng điểm của tick này
+        checkCollisions();
+        if (levelCompleted) {
             handleLevelComplete();
         }
 
@@ -212,24 +338,252 @@ public class GameScene extends SceneManager {
             isRunning = false;
             handleGameOver();
         }
+
+        if (Config.SIMULATION_THREAD && !session.isHeadless()) {
+            publishSnapshot();
+        }
     }
 
 
     @Override
     public void render() {
-        drawBackground();
-        drawHUDBackground();
-        drawBricks();
+        if (!Config.SIMULATION_THREAD) {
+            publishSnapshot(); // cùng luồng: chụp ngay trước khi vẽ
+        }
+        frame = snapshots.acquire();
+        renderAlpha = computeRenderAlpha();
+
+        if (layers != null) {
+            renderStaticLayers(); // nền / gạch / HUD: chỉ vẽ lại lớp có dữ liệu đổi
+            if (dirtyRegions != null) {
+                partialRedraw = clearDirtyRegions(); // lớp động: chỉ xóa vùng có đối tượng di chuyển
+            }
+            drawBricks(frame.staticBrickCount, frame.brickCount); // gạch di chuyển
+        } else {
+            drawBackground();
+            drawHUDBackground();
+            drawBricks(0, frame.brickCount);
+        }
         drawPowerUps();
         drawPaddle();
+        drawAimPreview();
         drawBalls();
-        drawUI();
+        if (layers == null) {
+            drawUI();
+        }
+
+        if (Config.LATENCY_STATS) {
+            recordInputLatency();
+            drawLatencyOverlay();
+        }
+
+        if (partialRedraw) {
+            ctx.restore(); // bỏ clip
+            partialRedraw = false;
+        }
+    }
+
+    // Lớp động không bị GameEngine xóa trước render() khi theo dõi vùng bẩn
+    @Override
+    public boolean clearsOwnCanvas() {
+        return dirtyRegions != null;
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (dirtyRegions != null) {
+            dirtyRegions.invalidateAll(); // lớp động vừa bị scene khác vẽ đè / đổi kích thước
+        }
+    }
+
+    /**
+     * Ghi hộp bao mọi thứ vẽ trên lớp động, xóa vùng bẩn và clip theo chúng.
+     * Trả về false nếu phải vẽ lại toàn bộ lớp (đã xóa cả canvas, không clip).
+     */
+    private boolean clearDirtyRegions() {
+        dirtyRegions.begin();
+        markDynamicRegions();
+        dirtyRegions.finish(gameEngine.getRenderScale());
+
+        if (dirtyRegions.isFullRedraw()) {
+            ctx.clearRect(0, 0, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
+            return false;
+        }
+
+        ctx.save();
+        ctx.beginPath();
+        for (int i = 0; i < dirtyRegions.getCount(); i++) {
+            double x = dirtyRegions.getX(i);
+            double y = dirtyRegions.getY(i);
+            double width = dirtyRegions.getWidth(i);
+            double height = dirtyRegions.getHeight(i);
+            ctx.clearRect(x, y, width, height);
+            ctx.rect(x, y, width, height);
+        }
+        ctx.clip();
+        return true;
+    }
+
+    // Cùng vị trí (nội suy) như các hàm draw* bên dưới
+    private void markDynamicRegions() {
+        for (int i = frame.staticBrickCount; i < frame.brickCount; i++) {
+            long key = KEY_BRICK + frame.brickHitPoints[i] * 16L + (frame.brickStrong[i] ? 8 : 0);
+            dirtyRegions.mark(frame.brickX[i], frame.brickY[i], frame.brickWidth[i], frame.brickHeight[i], key);
+        }
+
+        for (int i = 0; i < frame.powerUpCount; i++) {
+            double y = GameSnapshot.lerp(frame.powerUpPrevY[i], frame.powerUpY[i], renderAlpha);
+            long key = KEY_POWERUP + ((long) System.identityHashCode(frame.powerUpImage[i]) << 8);
+            dirtyRegions.mark(frame.powerUpX[i] - POWERUP_SIZE / 2, y - POWERUP_SIZE / 2,
+                    POWERUP_SIZE, POWERUP_SIZE, key);
+        }
+
+        double paddleX = GameSnapshot.lerp(frame.paddlePrevX, frame.paddleX, renderAlpha);
+        dirtyRegions.mark(paddleX - frame.paddleWidth / 2, frame.paddleY - frame.paddleHeight / 2,
+                frame.paddleWidth, frame.paddleHeight, KEY_PADDLE);
+
+        if (frame.aimPointCount >= 2) {
+            dirtyRegions.mark(aimMinX(), aimMinY(), aimMaxX() - aimMinX(), aimMaxY() - aimMinY(), KEY_AIM);
+        }
+
+        for (int i = 0; i < frame.ballCount; i++) {
+            double x = GameSnapshot.lerp(frame.ballPrevX[i], frame.ballX[i], renderAlpha);
+            double y = GameSnapshot.lerp(frame.ballPrevY[i], frame.ballY[i], renderAlpha);
+            double radius = frame.ballRadius[i];
+            dirtyRegions.mark(x - radius, y - radius, radius * 2, radius * 2, KEY_BALL);
+        }
+
+        if (Config.LATENCY_STATS) {
+            long key = KEY_LATENCY + (gameEngine.getInputLatency().getCount() << 8);
+            dirtyRegions.mark(0, Config.SCREEN_HEIGHT - 24, Config.SCREEN_WIDTH, 24, key);
+        }
+    }
+
+    private double aimMinX() {
+        double min = frame.aimX[0];
+        for (int i = 1; i < frame.aimPointCount; i++) min = Math.min(min, frame.aimX[i]);
+        return min;
+    }
+
+    private double aimMaxX() {
+        double max = frame.aimX[0];
+        for (int i = 1; i < frame.aimPointCount; i++) max = Math.max(max, frame.aimX[i]);
+        return max;
+    }
+
+    private double aimMinY() {
+        double min = frame.aimY[0];
+        for (int i = 1; i < frame.aimPointCount; i++) min = Math.min(min, frame.aimY[i]);
+        return min;
+    }
+
+    private double aimMaxY() {
+        double max = frame.aimY[0];
+        for (int i = 1; i < frame.aimPointCount; i++) max = Math.max(max, frame.aimY[i]);
+        return max;
+    }
+
+    // Frame vẽ lại 1 phần: đối tượng không chạm vùng bẩn vẫn còn nguyên trên canvas
+    private boolean needsDraw(double x, double y, double width, double height) {
+        return !partialRedraw || dirtyRegions.intersects(x, y, width, height);
+    }
+
+    /**
+     * Vẽ lại các lớp tĩnh có dữ liệu khác với lần vẽ trước. Các hàm draw* vẫn vẽ qua field ctx,
+     * nên ctx được trỏ tạm sang lớp đang vẽ rồi trả về lớp động.
+     */
+    private void renderStaticLayers() {
+        int generation = layers.getGeneration();
+        boolean redrawAll = generation != drawnLayerGeneration; // canvas đổi kích thước / bậc chất lượng
+        drawnLayerGeneration = generation;
+
+        if (redrawAll || frame.background != drawnBackground || !equalColors(frame.backgroundColor, drawnBackgroundColor)) {
+            ctx = layers.begin(CanvasLayers.BACKGROUND);
+            drawBackground();
+            layers.end(CanvasLayers.BACKGROUND);
+            drawnBackground = frame.background;
+            drawnBackgroundColor = frame.backgroundColor;
+        }
+
+        if (redrawAll || frame.brickRevision != drawnBrickRevision) {
+            ctx = layers.begin(CanvasLayers.BRICKS);
+            drawBricks(0, frame.staticBrickCount);
+            layers.end(CanvasLayers.BRICKS);
+            drawnBrickRevision = frame.brickRevision;
+        }
+
+        if (redrawAll || frame.score != drawnScore || frame.lives != drawnLives || frame.level != drawnLevel
+                || frame.soundEnabled != drawnSoundEnabled || frame.mouseControlEnabled != drawnMouseControl) {
+            ctx = layers.begin(CanvasLayers.HUD);
+            drawHUDBackground();
+            drawUI();
+            layers.end(CanvasLayers.HUD);
+            drawnScore = frame.score;
+            drawnLives = frame.lives;
+            drawnLevel = frame.level;
+            drawnSoundEnabled = frame.soundEnabled;
+            drawnMouseControl = frame.mouseControlEnabled;
+        }
+
+        ctx = dynamicCtx;
+    }
+
+    private static boolean equalColors(Color a, Color b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Frame đầu tiên chứa vị trí paddle do input gây ra: ghi (bây giờ - lúc nhận input) vào histogram.
+     * Đo tới lúc vẽ xong canvas; thời gian JavaFX đẩy frame lên màn hình (vsync) không tính được ở đây.
+     */
+    private void recordInputLatency() {
+        long inputTime = frame.inputTime;
+        if (inputTime != 0 && inputTime != renderedInputTime) {
+            gameEngine.getInputLatency().record(System.nanoTime() - inputTime);
+            renderedInputTime = inputTime; // báo cho mô phỏng: mốc này đã lên màn hình
+        }
+    }
+
+    private void drawLatencyOverlay() {
+        if (!needsDraw(0, Config.SCREEN_HEIGHT - 24, Config.SCREEN_WIDTH, 24)) return;
+
+        LatencyHistogram latency = gameEngine.getInputLatency();
+        String text = String.format("input->frame  p50 %.1f  p95 %.1f  p99 %.1f ms  (n=%d)",
+                latency.getPercentileMillis(50), latency.getPercentileMillis(95),
+                latency.getPercentileMillis(99), latency.getCount());
+
+        ctx.setFont(Font.font("Consolas", 12));
+        ctx.setFill(Color.YELLOW);
+        ctx.fillText(text, 10, Config.SCREEN_HEIGHT - 10);
     }
 
     @Override
     public void handleInput(KeyEvent event) {
-        if (event.getEventType() == KeyEvent.KEY_PRESSED) { // kiểm tra player vừa nhấn phím
-            switch (event.getCode()) { // lấy mã phím vừa nhấn
+        // Pause và âm thanh không đụng tới trạng thái mô phỏng -> xử lý ngay trên luồng FX
+        if (event.getEventType() == KeyEvent.KEY_PRESSED) {
+            switch (event.getCode()) {
+                case M -> {
+                    toggleSound();
+                    return;
+                }
+                case P, ESCAPE -> {
+                    if (!isPaused) {
+                        gameEngine.pauseGame(); // gọi lại onPaused()
+                    }
+                    return;
+                }
+            }
+        }
+
+        int type = event.getEventType() == KeyEvent.KEY_PRESSED
+                ? InputRingBuffer.KEY_PRESSED : InputRingBuffer.KEY_RELEASED;
+        input.offer(gameEngine.getInputArrivalTime(), type, event.getCode().ordinal(), 0);
+    }
+
+    private void applyKey(int type, KeyCode code) {
+        if (type == InputRingBuffer.KEY_PRESSED) { // kiểm tra player vừa nhấn phím
+            switch (code) { // lấy mã phím vừa nhấn
                 case LEFT, A -> {
                     if (!mouseControlEnabled) movePaddleLeft();
                 }
@@ -237,19 +591,12 @@ public class GameScene extends SceneManager {
                     if (!mouseControlEnabled) movePaddleRight();
                 }
                 case SPACE -> launchBall();
-                case M -> toggleSound();
                 case C -> toggleMouseControl();
-                case P, ESCAPE -> {
-                    if (!isPaused) {
-                        gameEngine.pauseGame();
-                        isPaused = true;
-                    }
-                }
             }
         }
 
-        if (event.getEventType() == KeyEvent.KEY_RELEASED) { // nhả phím
-            switch (event.getCode()) {
+        if (type == InputRingBuffer.KEY_RELEASED) { // nhả phím
+            switch (code) {
                 case LEFT, RIGHT, A, D -> {
                     if (!mouseControlEnabled) stopPaddle();
                 }
@@ -257,17 +604,67 @@ public class GameScene extends SceneManager {
         }
     }
 
+    /**
+     * Đọc các event có mốc thời gian <= cuối tick, áp dụng theo thứ tự.
+     * Tick mô phỏng khoảng (simTime, simTime + deltaTime]; paddle bàn phím được tích phân từng đoạn
+     * giữa các event, nên nhấn/nhả phím giữa tick chỉ ảnh hưởng phần tick sau thời điểm đó.
+     * Event đến sau cuối tick (tick đang đuổi kịp thời gian thực) để lại cho tick sau.
+     */
+    private void processInput(double deltaTime) {
+        long stepNanos = (long) (deltaTime * 1_000_000_000L);
+        long tickEnd = simTime + stepNanos;
+        long now = System.nanoTime();
+        // Ván không giao diện chạy nhanh hơn thời gian thực: chỉ dùng đồng hồ mô phỏng (tất định)
+        if (!session.isHeadless()
+                && (now - tickEnd > stepNanos * Config.MAX_CATCHUP_STEPS || tickEnd > now + stepNanos)) {
+            tickEnd = now; // đồng hồ lệch quá xa (vừa resume, máy bị treo...) -> neo lại theo giờ thực
+        }
+        long tickStart = tickEnd - stepNanos;
+        simTime = tickEnd;
+        if (pendingInputTime != 0 && pendingInputTime == renderedInputTime) {
+            pendingInputTime = 0; // input trước đã được vẽ, bắt đầu đo input mới
+        }
+
+        double done = 0; // phần tick paddle đã được tích phân
+        while (!input.isEmpty() && input.peekTime() <= tickEnd) {
+            if (!mouseControlEnabled) {
+                double at = Math.max(done, (double) (input.peekTime() - tickStart) / stepNanos);
+                paddle.update((at - done) * deltaTime);
+                done = at;
+            }
+
+            int type = input.peekType();
+            if (Config.LATENCY_STATS && pendingInputTime == 0 && movesPaddle(type, input.peekCode())) {
+                pendingInputTime = input.peekTime();
+            }
+            if (type == InputRingBuffer.KEY_PRESSED || type == InputRingBuffer.KEY_RELEASED) {
+                applyKey(type, KEY_CODES[input.peekCode()]);
+            } else {
+                applyMouse(type, input.peekValue());
+            }
+            input.advance();
+        }
+
+        if (!mouseControlEnabled) {
+            paddle.update((1 - done) * deltaTime);
+        }
+    }
+
     @Override
     public void cleanup() {
         // System.out.println("Cleaning up Game Scene...");
         if (balls != null) balls.clear();
         if (powerUps != null) powerUps.clear();
+        effects.clear();
+        events.clear();
         isPaused = false;
 
         // Remove mouse event handlers
-        canvas.setOnMouseMoved(null);
-        canvas.setOnMouseDragged(null);
-        canvas.setOnMouseExited(null);
+        if (canvas != null) {
+            canvas.setOnMouseMoved(null);
+            canvas.setOnMouseDragged(null);
+            canvas.setOnMouseExited(null);
+        }
     }
 
     // === GAME LOGIC METHODS ===
@@ -277,79 +674,43 @@ public class GameScene extends SceneManager {
         double ballX = paddle.getPosition().x;
         double ballY = paddle.getPosition().y - paddle.getHeight() - Config.BALL_SIZE;
 
-        Ball newBall = new Ball(ballX, ballY);
-        newBall.setActive(false);
-        balls.add(newBall);
+        balls.add(ballX, ballY, 0, 0, false);
 
         System.out.println("NEW ball on paddle at (" + ballX + ", " + ballY + ")");
     }
 
     private void updatePowerUps(double deltaTime) {
-        for (PowerUp powerUp : powerUps) {
-            powerUp.update(deltaTime);
+        for (int i = 0; i < powerUps.size(); i++) {
+            powerUps.get(i).update(deltaTime);
         }
     }
 
-    private void checkCollisions() {
-        List<Ball> ballsToRemove = new ArrayList<>();
-
-        for (Ball ball : balls) {
-            if (!ball.isActive()) continue;
-
-            // Check paddle collision
-            if (CollisionManager.checkBallPaddleCollision(ball, paddle)) {
-                soundManager.playSound("paddle_hit");
-            }
-
-            // Check brick collisions
-            List<Brick> bricksToRemove = new ArrayList<>();
-            for (Brick brick : levelManager.getBricks()) {
-                if (CollisionManager.checkBallBrickCollision(ball, brick)) {
-                    brick.onHit();
-                    // Chỉ cộng điểm khi gạch bị phá hủy
-                    if (brick.isToBeRemoved()) {
-                        score += brick.getScoreValue();
-                        System.out.println("+" + brick.getScoreValue() + " points!");
-                    }
-                    // Play sound
-                    if (!ball.isPierce()) {
-                        soundManager.playSound("hit");
-                    } else {
-                        soundManager.playSound("powerup");
-                    }
-
-                    // Spawn power-up if brick is destroyed
-                    if (brick.isToBeRemoved()) {
-                        bricksToRemove.add(brick);
-                        spawnPowerUp(brick.getPosition().x, brick.getPosition().y);
-                    }
-
-                    // Handle ball bounce (if not piercing)
-                    if (!ball.isPierce()) {
-                        // Xử lý đổi hướng bóng - giữ nguyên logic cũ
-                    }
-                    break; // Chỉ xử lý 1 brick mỗi frame
-                }
-            }
-
-            // Remove destroyed bricks
-            for (Brick brick : bricksToRemove) {
-                levelManager.removeBrick(brick);
+    // Dồn các power-up còn lại lên đầu danh sách, cắt phần đuôi (không iterator, không lambda)
+    private void removeCollectedPowerUps() {
+        int write = 0;
+        for (int read = 0; read < powerUps.size(); read++) {
+            PowerUp powerUp = powerUps.get(read);
+            if (!powerUp.isCollected()) {
+                powerUps.set(write++, powerUp);
             }
+        }
+        for (int i = powerUps.size() - 1; i >= write; i--) {
+            powerUps.remove(i);
+        }
+    }
 
-            // Check wall collisions
-            CollisionManager.checkWallCollisions(ball);
+    private void checkCollisions() {
+        // Duyệt ngược: swap-remove chỉ kéo bóng đã xét vào chỗ trống
+        for (int i = balls.size() - 1; i >= 0; i--) {
+            if (!balls.active[i]) continue;
 
-            // Check ball lost
-            if (ball.getPosition().y + ball.getRadius() >= Config.SCREEN_HEIGHT) {
+            // Check ball lost -> remove
+            if (balls.y[i] + balls.radius[i] >= Config.SCREEN_HEIGHT) {
                 System.out.println("Ball lost at bottom!");
-                ballsToRemove.add(ball);
+                balls.remove(i);
             }
         }
 
-        // Remove lost balls
-        balls.removeAll(ballsToRemove);
-
         // Handle ball loss
         if (balls.isEmpty()) {
             lives--;
@@ -368,10 +729,83 @@ public class GameScene extends SceneManager {
         }
     }
 
-    private void checkPowerUpCollisions() {
-        List<PowerUp> collectedPowerUps = new ArrayList<>();
+    // Áp dụng kết quả pha va chạm theo thứ tự xác định (mỗi gạch 1 lần / tick)
+    private void applyCollisionResults() {
+        if (collisionPhase.getPaddleHits() > 0) {
+            events.add(GameEventBuffer.PADDLE_HIT, -1, -1, paddle.getPosition().x, paddle.getPosition().y,
+                    collisionPhase.getPaddleHits(), 0);
+        }
+        for (int i = 0; i < collisionPhase.getHitCount(); i++) {
+            onBrickHit(collisionPhase.getHitBall(i), collisionPhase.getHitBrick(i));
+        }
+    }
+
+    // Chỉ đổi trạng thái gạch + ghi sự kiện; điểm / âm thanh / power-up do subscriber xử lý cuối tick
+    private void onBrickHit(int ball, int brick) {
+        boolean destroyed = levelManager.hitBrick(brick);
+        events.add(destroyed ? GameEventBuffer.BRICK_DESTROYED : GameEventBuffer.BRICK_HIT,
+                brick, ball, levelManager.getBrickX(brick), levelManager.getBrickY(brick),
+                destroyed ? levelManager.getScoreValue(brick) : 0,
+                balls.pierce[ball] ? GameEventBuffer.FLAG_PIERCE : 0);
+    }
+
+    // === SUBSCRIBER SỰ KIỆN GAMEPLAY (1 lần mỗi tick) ===
 
-        for (PowerUp powerUp : powerUps) {
+    // Chỉ cộng điểm khi gạch bị phá hủy
+    private void applyScoreEvents(GameEventBuffer events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.getType(i) == GameEventBuffer.BRICK_DESTROYED) {
+                score += events.getValue(i);
+                if (Config.DEBUG_COLLISION_LOG) {
+                    System.out.println("+" + events.getValue(i) + " points!");
+                }
+            }
+        }
+    }
+
+    // Mỗi âm thanh phát tối đa 1 lần / tick (nhiều bóng chạm cùng lúc vẫn chỉ nghe 1 tiếng)
+    private void playEventSounds(GameEventBuffer events) {
+        boolean paddleHit = false, brickHit = false, powerUp = false;
+        for (int i = 0; i < events.size(); i++) {
+            switch (events.getType(i)) {
+                case GameEventBuffer.PADDLE_HIT -> paddleHit = true;
+                case GameEventBuffer.BRICK_HIT, GameEventBuffer.BRICK_DESTROYED -> {
+                    if (events.hasFlag(i, GameEventBuffer.FLAG_PIERCE)) {
+                        powerUp = true;
+                    } else {
+                        brickHit = true;
+                    }
+                }
+                case GameEventBuffer.POWERUP_COLLECTED -> powerUp = true;
+            }
+        }
+        if (paddleHit) soundManager.playSound("paddle_hit");
+        if (brickHit) soundManager.playSound("hit");
+        if (powerUp) soundManager.playSound("powerup");
+    }
+
+    // Spawn power-up if brick is destroyed
+    private void spawnEventPowerUps(GameEventBuffer events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.getType(i) == GameEventBuffer.BRICK_DESTROYED) {
+                spawnPowerUp(events.getX(i), events.getY(i));
+            }
+        }
+    }
+
+    // Lưu tiến trình khi qua level (điểm đã gồm các gạch vỡ trong tick này)
+    private void saveEventProgress(GameEventBuffer events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.getType(i) == GameEventBuffer.LEVEL_COMPLETE) {
+                session.getSaveManager().completeLevel(events.getValue(i), score);
+            }
+        }
+    }
+
+    // Power-up đã nhặt chỉ được đánh dấu collect(), removeCollectedPowerUps() sẽ dọn sau
+    private void checkPowerUpCollisions() {
+        for (int i = 0; i < powerUps.size(); i++) {
+            PowerUp powerUp = powerUps.get(i);
             if (powerUp.isCollected()) continue;
 
             double powerUpX = powerUp.getPosition().x;
@@ -390,24 +824,26 @@ public class GameScene extends SceneManager {
                     powerUpY <= paddleY + paddleHeight / 2) {
 
                 powerUp.collect();
-                collectedPowerUps.add(powerUp);
 
                 // Apply power-up effect
                 if (!balls.isEmpty()) {
-                    powerUp.applyEffect(paddle, balls.get(0));
+                    if (powerUp instanceof PowerEffect effect) {
+                        effects.activate(effect, paddle, balls, 0);
+                    } else {
+                        powerUp.applyEffect(paddle, balls, 0);
+                    }
                 }
 
-                soundManager.playSound("powerup");
+                events.add(GameEventBuffer.POWERUP_COLLECTED, -1, -1, powerUpX, powerUpY, 0, 0);
                 System.out.println("Collected: " + powerUp.getName());
             }
         }
-
-        powerUps.removeAll(collectedPowerUps);
     }
 
     private void spawnPowerUp(double x, double y) {
-        if (Math.random() < 0.3) { // 30% chance to spawn power-up
-            PowerUp powerUp = PowerFactory.createRandomPowerUp(x, y);
+        if (session.getRandom().nextDouble() < 0.3) { // 30% chance to spawn power-up
+            PowerUp powerUp = PowerFactory.createRandomPowerUp(session, x, y);
+            if (powerUp == null) return; // factory cũng có thể không spawn (tỉ lệ riêng / thiếu kho bóng)
             powerUp.start();
             powerUps.add(powerUp);
             System.out.println("Power-up spawned: " + powerUp.getName());
@@ -417,10 +853,7 @@ public class GameScene extends SceneManager {
     // === LEVEL MANAGEMENT ===
     private void handleLevelComplete() {
         System.out.println("Level " + levelManager.getCurrentLevel() + " completed!");
-
-        // Lưu tiến trình
-        SaveManager saveManager = SaveManager.getInstance();
-        saveManager.completeLevel(levelManager.getCurrentLevel(), score);
+        // Tiến trình đã được lưu bởi subscriber LEVEL_COMPLETE (saveEventProgress)
 
         if (levelManager.hasNextLevel()) {
             // Chuyển level tiếp theo
@@ -437,6 +870,8 @@ public class GameScene extends SceneManager {
     private void resetBallAndPaddle() {
         // Reset paddle về vị trí giữa
         paddle.getPosition().x = Config.SCREEN_WIDTH / 2;
+        lastPaddleX = paddle.getPosition().x;
+        paddlePrevX = lastPaddleX; // không nội suy qua lần dịch chuyển tức thời
 
         // Reset balls
         balls.clear();
@@ -449,31 +884,75 @@ public class GameScene extends SceneManager {
     }
 
     private void checkHighscore() {
-        SaveManager saveManager = SaveManager.getInstance();
-        if (saveManager.isHighscore(score)) {
-            gameEngine.switchToNameInputScene(score, levelManager.getCurrentLevel());
+        // Ván không giao diện không có màn nhập tên
+        if (gameEngine != null && session.getSaveManager().isHighscore(score)) {
+            int finalScore = score;
+            int finalLevel = levelManager.getCurrentLevel();
+            runOnFxThread(() -> gameEngine.switchToNameInputScene(finalScore, finalLevel));
         } else {
             handleGameOver();
         }
     }
 
     private void handleMouseMoved(MouseEvent event) {
-        if (!isRunning || isPaused) return;
-        mouseX = event.getX();
-        if (mouseControlEnabled) {
-            paddle.moveToMouse(mouseX);
-        }
+        onMouseEvent(event, System.nanoTime());
     }
 
     private void handleMouseDragged(MouseEvent event) {
-        if (!isRunning || isPaused) return;
-        mouseX = event.getX();
-        paddle.moveToMouse(mouseX);
+        onMouseEvent(event, System.nanoTime());
     }
 
     private void handleMouseExited(MouseEvent event) {
+        onMouseEvent(event, System.nanoTime());
+    }
+
+    private void onMouseEvent(MouseEvent event, long arrivalTime) {
         if (!isRunning || isPaused) return;
-        paddle.stop();
+
+        int type;
+        if (event.getEventType() == MouseEvent.MOUSE_MOVED) {
+            type = InputRingBuffer.MOUSE_MOVED;
+        } else if (event.getEventType() == MouseEvent.MOUSE_DRAGGED) {
+            type = InputRingBuffer.MOUSE_DRAGGED;
+        } else {
+            type = InputRingBuffer.MOUSE_EXITED;
+        }
+        // Canvas có thể đang được vẽ ở độ phân giải thấp hơn (QualityGovernor) -> đổi về tọa độ game
+        input.offer(arrivalTime, type, 0, event.getX() / gameEngine.getRenderScale());
+    }
+
+    // Ván không giao diện (bot / replay): input vào cùng hàng đợi, áp dụng ngay đầu tick kế tiếp
+    public void injectInput(int type, int code, double x) {
+        input.offer(simTime, type, code, x);
+    }
+
+    // Event có làm paddle đổi vị trí không (chỉ các event này được đo độ trễ)
+    private boolean movesPaddle(int type, int code) {
+        if (type == InputRingBuffer.MOUSE_MOVED || type == InputRingBuffer.MOUSE_DRAGGED) {
+            return mouseControlEnabled || type == InputRingBuffer.MOUSE_DRAGGED;
+        }
+        if (type == InputRingBuffer.KEY_PRESSED || type == InputRingBuffer.KEY_RELEASED) {
+            return !mouseControlEnabled && switch (KEY_CODES[code]) {
+                case LEFT, RIGHT, A, D -> true;
+                default -> false;
+            };
+        }
+        return false;
+    }
+
+    // Chỗ duy nhất paddle đi theo chuột (update không áp dụng lại mouseX mỗi tick)
+    private void applyMouse(int type, double x) {
+        if (type == InputRingBuffer.MOUSE_MOVED) {
+            mouseX = x;
+            if (mouseControlEnabled) {
+                paddle.moveToMouse(mouseX);
+            }
+        } else if (type == InputRingBuffer.MOUSE_DRAGGED) {
+            mouseX = x;
+            paddle.moveToMouse(mouseX);
+        } else if (type == InputRingBuffer.MOUSE_EXITED) {
+            paddle.stop();
+        }
     }
 
     public void movePaddleLeft() {
@@ -489,10 +968,8 @@ public class GameScene extends SceneManager {
     }
 
     public void launchBall() {
-        if (!balls.isEmpty() && balls.get(0).isOnPaddle()) {
-            Ball ball = balls.get(0);
-            ball.setActive(true);
-            ball.setVelocity(0, -Config.BALL_SPEED);
+        if (!balls.isEmpty() && balls.onPaddle[0]) {
+            balls.launchFromPaddle(0);
             System.out.println("Ball launched from paddle!");
         }
     }
@@ -503,6 +980,8 @@ public class GameScene extends SceneManager {
 
         if (!mouseControlEnabled) {
             paddle.stop();
+        } else {
+            paddle.moveToMouse(mouseX); // bật lại chuột: paddle về vị trí chuột cuối cùng
         }
     }
 
@@ -512,19 +991,134 @@ public class GameScene extends SceneManager {
         System.out.println("Sound toggled from " + currentState + " to " + soundManager.isSoundEnabled());
     }
 
-    // === RENDER METHODS ===
-    private void drawBackground() {
-        // Sử dụng background từ LevelManager
-        if (levelManager.hasCustomBackground()) {
-            javafx.scene.image.Image levelBackground = levelManager.getCurrentBackground();
-            if (levelBackground != null && !levelBackground.isError()) {
-                ctx.drawImage(levelBackground, 0, 0, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
-                return;
+    // === SNAPSHOT ===
+    private void publishSnapshot() {
+        captureSnapshot(snapshots.getWriteBuffer());
+        snapshots.publish();
+    }
+
+    // Chép trạng thái cần cho render vào snapshot (không cấp phát khi số gạch / power-up không tăng)
+    private void captureSnapshot(GameSnapshot s) {
+        s.paddleX = paddle.getPosition().x;
+        s.paddleY = paddle.getPosition().y;
+        s.paddleWidth = paddle.getWidth();
+        s.paddleHeight = paddle.getHeight();
+        s.paddlePrevX = paddlePrevX;
+        s.tickTime = System.nanoTime();
+        s.inputTime = pendingInputTime;
+
+        int ballCount = balls.size();
+        s.ballCount = ballCount;
+        System.arraycopy(balls.x, 0, s.ballX, 0, ballCount);
+        System.arraycopy(balls.y, 0, s.ballY, 0, ballCount);
+        System.arraycopy(balls.radius, 0, s.ballRadius, 0, ballCount);
+        System.arraycopy(balls.prevX, 0, s.ballPrevX, 0, ballCount);
+        System.arraycopy(balls.prevY, 0, s.ballPrevY, 0, ballCount);
+
+        // Gạch tĩnh + gạch di chuyển còn sống
+        BrickField field = levelManager.getBrickField();
+        MovingBrickSet moving = levelManager.getMovingBricks();
+        s.ensureBrickCapacity(field.getRemaining() + moving.getRemaining());
+        // Gạch lưới chỉ đổi khi có gạch vỡ / mất máu: ô snapshot đã chép đúng revision thì giữ nguyên
+        if (s.brickRevision != field.getRevision()) {
+            int count = 0;
+            for (int brick = field.nextAlive(0); brick >= 0; brick = field.nextAlive(brick + 1)) {
+                s.brickX[count] = field.getBrickX(brick);
+                s.brickY[count] = field.getBrickY(brick);
+                s.brickWidth[count] = field.getBrickWidth();
+                s.brickHeight[count] = field.getBrickHeight();
+                s.brickStrong[count] = levelManager.getBrickType(brick) == LevelManager.BrickType.STRONG;
+                s.brickHitPoints[count] = field.getHitPoints(brick);
+                count++;
+            }
+            s.staticBrickCount = count;
+            s.brickRevision = field.getRevision();
+        }
+        int count = s.staticBrickCount;
+        for (int i = 0; i < moving.size(); i++) {
+            Brick brick = moving.get(i);
+            if (brick.isToBeRemoved()) continue;
+
+            s.brickX[count] = brick.getPosition().x;
+            s.brickY[count] = brick.getPosition().y;
+            s.brickWidth[count] = brick.getWidth();
+            s.brickHeight[count] = brick.getHeight();
+            s.brickStrong[count] = brick.getMaxHitPoints() > 1;
+            s.brickHitPoints[count] = brick.getHitPoints();
+            count++;
+        }
+        s.brickCount = count;
+
+        // Power-up
+        s.ensurePowerUpCapacity(powerUps.size());
+        count = 0;
+        for (int i = 0; i < powerUps.size(); i++) {
+            PowerUp powerUp = powerUps.get(i);
+            if (powerUp.isCollected()) continue;
+
+            s.powerUpX[count] = powerUp.getPosition().x;
+            s.powerUpY[count] = powerUp.getPosition().y;
+            s.powerUpPrevY[count] = powerUp.getPreviousY();
+            s.powerUpImage[count] = getPowerUpImage(powerUp);
+            count++;
+        }
+        s.powerUpCount = count;
+
+        // Đường ngắm từ bóng đang nằm trên paddle (hướng launch), kết quả được cache trong TrajectoryPredictor
+        s.aimPointCount = 0;
+        boolean effectsEnabled = gameEngine == null || gameEngine.getQuality().isEffectsEnabled();
+        if (Config.AIM_PREVIEW && effectsEnabled && !balls.isEmpty() && balls.onPaddle[0]) {
+            aimPreview.predict(field, balls.x[0], balls.y[0],
+                    BallPool.LAUNCH_VX, BallPool.LAUNCH_VY, balls.radius[0], Config.AIM_PREVIEW_BOUNCES);
+            s.aimPointCount = aimPreview.getPointCount();
+            for (int i = 0; i < s.aimPointCount; i++) {
+                s.aimX[i] = aimPreview.getX(i);
+                s.aimY[i] = aimPreview.getY(i);
             }
         }
 
-        // Fallback: sử dụng màu nền từ LevelManager
-        Color backgroundColor = levelManager.getCurrentBackgroundColor();
+        s.score = score;
+        s.lives = lives;
+        s.level = levelManager.getCurrentLevel();
+        s.soundEnabled = soundManager.isSoundEnabled();
+        s.mouseControlEnabled = mouseControlEnabled;
+        s.background = levelManager.hasCustomBackground() ? levelManager.getCurrentBackground() : null;
+        s.backgroundColor = levelManager.getCurrentBackgroundColor();
+    }
+
+    /**
+     * Alpha nội suy: vẽ ở vị trí giữa tick trước và tick mới nhất.
+     * Cùng luồng: phần dư accumulator của GameEngine; luồng mô phỏng: thời gian đã trôi kể từ lúc chụp frame.
+     */
+    private double computeRenderAlpha() {
+        if (!Config.RENDER_INTERPOLATION) return 1;
+
+        if (Config.SIMULATION_THREAD) {
+            double elapsed = (System.nanoTime() - frame.tickTime) / 1_000_000_000.0;
+            return Math.max(0, Math.min(1, elapsed * Config.SIMULATION_HZ));
+        }
+        return gameEngine.getInterpolationAlpha();
+    }
+
+    // === RENDER METHODS (chỉ đọc từ frame) ===
+
+    // Sprite đã scale sẵn đúng kích thước -> chép 1:1; kích thước khác (ảnh thiếu, gạch cỡ lạ...) thì scale khi vẽ
+    private void drawSprite(Image image, double x, double y, double width, double height) {
+        if (image.getWidth() == width && image.getHeight() == height) {
+            ctx.drawImage(image, x, y);
+        } else {
+            ctx.drawImage(image, x, y, width, height);
+        }
+    }
+    private void drawBackground() {
+        // Sử dụng background của level
+        if (frame.background != null) {
+            drawSprite(frame.background, 0, 0, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
+            return;
+        }
+
+        // Fallback: sử dụng màu nền của level
+        Color backgroundColor = frame.backgroundColor;
         if (backgroundColor != null) {
             ctx.setFill(backgroundColor);
             ctx.fillRect(0, 0, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
@@ -547,7 +1141,7 @@ public class GameScene extends SceneManager {
 
     private void drawHUDBackground() {
         double hudHeight = 80;
-        int level = levelManager.getCurrentLevel(); // 1-based
+        int level = frame.level; // 1-based
         Color startColor, midColor, endColor, borderColor, shadowColor;
 
         // Chọn màu theo level
@@ -582,6 +1176,13 @@ public class GameScene extends SceneManager {
             }
         }
 
+        // Tier chất lượng thấp: nền phẳng, bỏ gradient / viền / shadow
+        if (!gameEngine.getQuality().isHudGradientEnabled()) {
+            ctx.setFill(midColor);
+            ctx.fillRect(0, 0, Config.SCREEN_WIDTH, hudHeight);
+            return;
+        }
+
         // Gradient thanh HUD
         LinearGradient gradient = new LinearGradient(
                 0, 0, 0, 1, true, CycleMethod.NO_CYCLE,
@@ -604,74 +1205,76 @@ public class GameScene extends SceneManager {
         ctx.strokeLine(0, hudHeight - 1, Config.SCREEN_WIDTH, hudHeight - 1);
     }
 
-    private void drawBricks() {
-        for (Brick brick : levelManager.getBricks()) {
-            double x = brick.getPosition().x;
-            double y = brick.getPosition().y;
-            double width = brick.getWidth();
-            double height = brick.getHeight();
+    private void drawBricks(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!needsDraw(frame.brickX[i], frame.brickY[i], frame.brickWidth[i], frame.brickHeight[i])) continue;
+            drawBrick(frame.brickX[i], frame.brickY[i], frame.brickWidth[i], frame.brickHeight[i],
+                    frame.brickStrong[i], frame.brickHitPoints[i]);
+        }
+    }
 
-            Image brickImage = getImage(brick);
+    private void drawBrick(double x, double y, double width, double height, boolean strong, int hitPoints) {
+        Image brickImage = getImage(strong, hitPoints);
 
-            if (brickImage != null) {
-                ctx.drawImage(brickImage, x, y, width, height);
+        if (brickImage != null) {
+            drawSprite(brickImage, x, y, width, height);
+        } else {
+            // Fallback: draw with colors
+            if (strong) {
+                ctx.setFill(hitPoints > 1 ? Color.ORANGE : Color.RED); // SỬA ĐIỀU KIỆN
             } else {
-                // Fallback: draw with colors
-                if (brick instanceof StrongBrick) {
-                    StrongBrick strongBrick = (StrongBrick) brick;
-                    ctx.setFill(strongBrick.getHitPoints() > 1 ? Color.ORANGE : Color.RED); // SỬA ĐIỀU KIỆN
-                } else {
-                    ctx.setFill(Color.LIME);
-                }
-                ctx.fillRect(x, y, width, height);
-                ctx.setStroke(Color.WHITE);
-                ctx.strokeRect(x, y, width, height);
+                ctx.setFill(Color.LIME);
             }
+            ctx.fillRect(x, y, width, height);
+            ctx.setStroke(Color.WHITE);
+            ctx.strokeRect(x, y, width, height);
         }
     }
 
-    private Image getImage(Brick brick) {
+    private Image getImage(boolean strong, int hitPoints) {
         Image brickImage = null;
 
-        if (brick instanceof StrongBrick) {
-            StrongBrick strongBrick = (StrongBrick) brick;
-            if (strongBrick.getHitPoints() > 1 && brickStrongImage != null) { // SỬA: > 1 thay vì == 2
+        if (strong) {
+            if (hitPoints > 1 && brickStrongImage != null) { // SỬA: > 1 thay vì == 2
                 brickImage = brickStrongImage;
             } else if (brickStrongCrackedImage != null) {
                 brickImage = brickStrongCrackedImage;
             }
-        } else if (brick instanceof NormalBrick && brickNormalImage != null) { // SỬA: instanceof NormalBrick
+        } else if (brickNormalImage != null) {
             brickImage = brickNormalImage;
         }
         return brickImage;
     }
 
-    private void drawPowerUps() {
-        double size = 25;
+    private Image getPowerUpImage(PowerUp powerUp) {
+        Image powerupImage = null;
+
+        // Determine power-up image based on type
+        if (powerUp instanceof Entities.Power.ExpandPaddle) {
+            powerupImage = powerupExpandImage;
+        } else if (powerUp instanceof Entities.Power.FastBall) {
+            powerupImage = powerupFastballImage;
+        } else if (powerUp instanceof Entities.Power.PowerUpMultiBall) {
+            powerupImage = powerupMultiballImage;
+        } else if (powerUp instanceof Entities.Power.PowerUpExtraLive) {
+            powerupImage = powerupExtraliveImage;
+        } else if (powerUp instanceof Entities.Power.PowerUpPierceBall) {
+            powerupImage = powerupPierceballImage;
+        }
+        return powerupImage;
+    }
 
-        for (PowerUp powerUp : powerUps) {
-            if (powerUp.isCollected()) continue;
+    private void drawPowerUps() {
+        double size = POWERUP_SIZE;
 
-            double x = powerUp.getPosition().x - size / 2;
-            double y = powerUp.getPosition().y - size / 2;
-
-            Image powerupImage = null;
-
-            // Determine power-up image based on type
-            if (powerUp instanceof Entities.Power.ExpandPaddle) {
-                powerupImage = powerupExpandImage;
-            } else if (powerUp instanceof Entities.Power.FastBall) {
-                powerupImage = powerupFastballImage;
-            } else if (powerUp instanceof Entities.Power.PowerUpMultiBall) {
-                powerupImage = powerupMultiballImage;
-            } else if (powerUp instanceof Entities.Power.PowerUpExtraLive) {
-                powerupImage = powerupExtraliveImage;
-            } else if (powerUp instanceof Entities.Power.PowerUpPierceBall) {
-                powerupImage = powerupPierceballImage;
-            }
+        for (int i = 0; i < frame.powerUpCount; i++) {
+            double x = frame.powerUpX[i] - size / 2;
+            double y = GameSnapshot.lerp(frame.powerUpPrevY[i], frame.powerUpY[i], renderAlpha) - size / 2;
+            if (!needsDraw(x, y, size, size)) continue;
+            Image powerupImage = frame.powerUpImage[i];
 
             if (powerupImage != null) {
-                ctx.drawImage(powerupImage, x, y, size, size);
+                drawSprite(powerupImage, x, y, size, size);
             } else {
                 // Fallback: draw colored square
                 ctx.setFill(Color.MAGENTA);
@@ -683,31 +1286,56 @@ public class GameScene extends SceneManager {
     }
 
     private void drawPaddle() {
-        double x = paddle.getPosition().x - paddle.getWidth() / 2;
-        double y = paddle.getPosition().y - paddle.getHeight() / 2;
-
-        if (paddleImage != null) {
-            ctx.drawImage(paddleImage, x, y, paddle.getWidth(), paddle.getHeight());
+        double width = frame.paddleWidth;
+        double height = frame.paddleHeight;
+        double x = GameSnapshot.lerp(frame.paddlePrevX, frame.paddleX, renderAlpha) - width / 2;
+        double y = frame.paddleY - height / 2;
+        if (!needsDraw(x, y, width, height)) return;
+
+        // Paddle đang giãn (ExpandPaddle) dùng sprite scale sẵn cỡ giãn
+        Image image = paddleExpandedImage != null && width == paddleExpandedImage.getWidth()
+                ? paddleExpandedImage : paddleImage;
+        if (image != null) {
+            drawSprite(image, x, y, width, height);
         } else {
             // Fallback: draw colored rectangle
             ctx.setFill(Color.LIGHTGRAY);
-            ctx.fillRect(x, y, paddle.getWidth(), paddle.getHeight());
+            ctx.fillRect(x, y, width, height);
             ctx.setStroke(Color.WHITE);
-            ctx.strokeRect(x, y, paddle.getWidth(), paddle.getHeight());
+            ctx.strokeRect(x, y, width, height);
+        }
+    }
+
+    private void drawAimPreview() {
+        if (frame.aimPointCount < 2) return;
+        if (!needsDraw(aimMinX(), aimMinY(), aimMaxX() - aimMinX(), aimMaxY() - aimMinY())) return;
+
+        ctx.save();
+        ctx.setGlobalAlpha(0.6);
+        ctx.setStroke(Color.WHITE);
+        ctx.setLineWidth(1.5);
+        ctx.setLineDashes(AIM_DASHES);
+        ctx.beginPath();
+        ctx.moveTo(frame.aimX[0], frame.aimY[0]);
+        for (int i = 1; i < frame.aimPointCount; i++) {
+            ctx.lineTo(frame.aimX[i], frame.aimY[i]);
         }
+        ctx.stroke();
+        ctx.restore();
     }
 
     private void drawBalls() {
-        for (Ball ball : balls) {
-            double x = ball.getPosition().x - ball.getRadius();
-            double y = ball.getPosition().y - ball.getRadius();
-            double diameter = ball.getRadius() * 2;
+        for (int i = 0; i < frame.ballCount; i++) {
+            double x = GameSnapshot.lerp(frame.ballPrevX[i], frame.ballX[i], renderAlpha) - frame.ballRadius[i];
+            double y = GameSnapshot.lerp(frame.ballPrevY[i], frame.ballY[i], renderAlpha) - frame.ballRadius[i];
+            double diameter = frame.ballRadius[i] * 2;
+            if (!needsDraw(x, y, diameter, diameter)) continue;
 
             if (ballImage != null) {
-                ctx.drawImage(ballImage, x, y, diameter, diameter);
+                drawSprite(ballImage, x, y, diameter, diameter);
             } else {
                 // Fallback: draw colored circle
-                ctx.setFill(ball.getColor());
+                ctx.setFill(Color.WHITE);
                 ctx.fillOval(x, y, diameter, diameter);
                 ctx.setStroke(Color.WHITE);
                 ctx.strokeOval(x, y, diameter, diameter);
@@ -722,16 +1350,16 @@ public class GameScene extends SceneManager {
         ctx.setStroke(Color.BLACK);
         ctx.setLineWidth(1.5);
 
-        int iconSize = 24;
+        int iconSize = HUD_ICON_SIZE;
         int iconSpacing = 5;
 
         // === SCORE ===
-        String scoreText = "SCORE: " + score;
+        String scoreText = "SCORE: " + frame.score;
         ctx.strokeText(scoreText, 20, 30);
         ctx.fillText(scoreText, 20, 30);
 
         // === LEVEL text (bigger + simple gradient) ===
-        String levelText = "LEVEL " + levelManager.getCurrentLevel();
+        String levelText = "LEVEL " + frame.level;
 
         // Font to hơn, đậm rõ
         ctx.setFont(Font.font("Impact", FontWeight.BOLD, 40));
@@ -757,27 +1385,35 @@ public class GameScene extends SceneManager {
 
         // === LIVES (icon heart) ===
         if (heartIcon != null) {
-            for (int i = 0; i < lives; i++) {
+            for (int i = 0; i < frame.lives; i++) {
                 double heartX = 20 + i * (iconSize + 5);
-                ctx.drawImage(heartIcon, heartX, 45, iconSize, iconSize);
+                drawSprite(heartIcon, heartX, 45, iconSize, iconSize);
             }
         } else {
-            String livesText = "LIVES: " + lives;
+            String livesText = "LIVES: " + frame.lives;
             ctx.strokeText(livesText, 20, 30);
             ctx.fillText(livesText, 20, 30);
         }
 
         // === SOUND ICON ===
-        boolean isSoundOn = soundManager.isSoundEnabled();
+        boolean isSoundOn = frame.soundEnabled;
         Image soundIcon = isSoundOn ? soundOnIcon : soundOffIcon;
         if (soundIcon != null) {
-            ctx.drawImage(soundIcon, 650, 15, iconSize, iconSize);
+            drawSprite(soundIcon, 650, 15, iconSize, iconSize);
         }
 
         // === MOUSE ICON ===
-        Image mouseIcon = mouseControlEnabled ? mouseOnIcon : mouseOffIcon;
+        Image mouseIcon = frame.mouseControlEnabled ? mouseOnIcon : mouseOffIcon;
         if (mouseIcon != null) {
-            ctx.drawImage(mouseIcon, 650, 45, iconSize, iconSize);
+            drawSprite(mouseIcon, 650, 45, iconSize, iconSize);
+        }
+
+        // === QUALITY TIER === (chỉ hiện khi governor đã hạ chất lượng)
+        QualityGovernor quality = gameEngine.getQuality();
+        if (quality.getTier() != QualityGovernor.HIGH) {
+            ctx.setFont(Font.font("Consolas", 12));
+            ctx.setFill(Color.LIGHTGRAY);
+            ctx.fillText("Q: " + quality.getTierName(), 690, 72);
         }
     }
 
@@ -788,10 +1424,19 @@ public class GameScene extends SceneManager {
         soundManager.onGameOver();
 
         if (onGameOver != null) {
-            onGameOver.run();
+            runOnFxThread(onGameOver);
         } else {
             System.err.println("GameScene: onGameOver callback is null!");
-            gameEngine.switchToMenuScene();
+            runOnFxThread(gameEngine::switchToMenuScene);
+        }
+    }
+
+    // Đổi scene phải chạy trên luồng FX (update có thể đang chạy trên luồng mô phỏng)
+    private void runOnFxThread(Runnable action) {
+        if (Config.SIMULATION_THREAD && !session.isHeadless()) {
+            Platform.runLater(action);
+        } else {
+            action.run();
         }
     }
 
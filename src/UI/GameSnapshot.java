@@ -0,0 +1,88 @@
+package UI;
+
+import Utils.Config;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * Ảnh chụp trạng thái GameScene cho 1 frame render: paddle, bóng, gạch còn sống, power-up, HUD.
+ * Mảng được cấp sẵn và tái sử dụng (chỉ nới rộng khi layout lớn hơn); render chỉ đọc từ đây,
+ * nên luồng mô phỏng có thể ghi frame tiếp theo vào ô khác của TripleBuffer cùng lúc.
+ */
+public class GameSnapshot {
+    // Paddle
+    public double paddleX, paddleY, paddleWidth, paddleHeight;
+    public double paddlePrevX;
+
+    // Thời điểm chụp (System.nanoTime) - luồng mô phỏng dùng để tính alpha nội suy
+    public long tickTime;
+
+    // Mốc nhận input sớm nhất đã ảnh hưởng paddle trong snapshot này, 0 nếu không có (Config.LATENCY_STATS)
+    public long inputTime;
+
+    // Bóng
+    public int ballCount;
+    public final double[] ballX = new double[Config.BALL_POOL_CAPACITY];
+    public final double[] ballY = new double[Config.BALL_POOL_CAPACITY];
+    public final double[] ballRadius = new double[Config.BALL_POOL_CAPACITY];
+    public final double[] ballPrevX = new double[Config.BALL_POOL_CAPACITY];
+    public final double[] ballPrevY = new double[Config.BALL_POOL_CAPACITY];
+
+    // Gạch còn sống: [0, staticBrickCount) là gạch lưới, phần sau là gạch di chuyển
+    public int brickCount;
+    public int staticBrickCount;
+    public int brickRevision = -1; // BrickField.getRevision() lúc chép gạch lưới; không đổi -> phần gạch lưới còn đúng
+    public double[] brickX = new double[64], brickY = new double[64];
+    public double[] brickWidth = new double[64], brickHeight = new double[64];
+    public boolean[] brickStrong = new boolean[64];
+    public int[] brickHitPoints = new int[64];
+
+    // Power-up đang rơi
+    public int powerUpCount;
+    public double[] powerUpX = new double[16], powerUpY = new double[16];
+    public double[] powerUpPrevY = new double[16];
+    public Image[] powerUpImage = new Image[16];
+
+    // Đường ngắm (bóng nằm trên paddle)
+    public int aimPointCount;
+    public final double[] aimX = new double[Config.AIM_PREVIEW_BOUNCES + 2];
+    public final double[] aimY = new double[Config.AIM_PREVIEW_BOUNCES + 2];
+
+    // HUD + nền
+    public int score;
+    public int lives;
+    public int level;
+    public boolean soundEnabled;
+    public boolean mouseControlEnabled;
+    public Image background;
+    public Color backgroundColor;
+
+    // Nội suy tuyến tính giữa tick trước và tick hiện tại
+    public static double lerp(double previous, double current, double alpha) {
+        return previous + (current - previous) * alpha;
+    }
+
+    void ensureBrickCapacity(int count) {
+        if (brickX.length < count) {
+            int capacity = Math.max(count, brickX.length * 2);
+            brickX = Arrays.copyOf(brickX, capacity);
+            brickY = Arrays.copyOf(brickY, capacity);
+            brickWidth = Arrays.copyOf(brickWidth, capacity);
+            brickHeight = Arrays.copyOf(brickHeight, capacity);
+            brickStrong = Arrays.copyOf(brickStrong, capacity);
+            brickHitPoints = Arrays.copyOf(brickHitPoints, capacity);
+        }
+    }
+
+    void ensurePowerUpCapacity(int count) {
+        if (powerUpX.length < count) {
+            int capacity = Math.max(count, powerUpX.length * 2);
+            powerUpX = Arrays.copyOf(powerUpX, capacity);
+            powerUpY = Arrays.copyOf(powerUpY, capacity);
+            powerUpPrevY = Arrays.copyOf(powerUpPrevY, capacity);
+            powerUpImage = Arrays.copyOf(powerUpImage, capacity);
+        }
+    }
+}
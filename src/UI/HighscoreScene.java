@@ -37,7 +37,7 @@ public class HighscoreScene extends SceneManager {
 
     private void loadBackground() {
         String path = "/images/backgrounds/highscore_bg.png";
-        backgroundImage = spriteLoader.loadSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false);
+        backgroundImage = spriteLoader.loadBackground(path);
         if (backgroundImage == null || backgroundImage.isError()) {
             System.err.println("⚠HighscoreScene background not found: " + path + ". Using gradient fallback.");
             backgroundImage = null;
@@ -57,6 +57,12 @@ public class HighscoreScene extends SceneManager {
     public void update(double deltaTime) {
     }
 
+    // Chỉ đổi khi có input -> GameEngine không vẽ lại mỗi frame
+    @Override
+    public boolean isAnimating() {
+        return false;
+    }
+
     @Override
     public void render() {
         drawBackground();
@@ -40,7 +40,7 @@ public class LevelSelectScene extends SceneManager {
 
     private void loadBackground() {
         String path = "/images/backgrounds/levelselect_bg.png";
-        backgroundImage = spriteLoader.loadSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false);
+        backgroundImage = spriteLoader.loadBackground(path);
 
         if (backgroundImage == null || backgroundImage.isError()) {
             System.err.println("⚠LevelSelectScene background not found: " + path + ". Using fallback.");
@@ -85,6 +85,12 @@ public class LevelSelectScene extends SceneManager {
     public void update(double deltaTime) {
     }
 
+    // Chỉ đổi khi có input -> GameEngine không vẽ lại mỗi frame
+    @Override
+    public boolean isAnimating() {
+        return false;
+    }
+
     @Override
     public void render() {
         drawBackground();
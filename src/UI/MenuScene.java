@@ -127,7 +127,7 @@ public class MenuScene extends SceneManager {
             };
 
             for (String path : bgPaths) {
-                menuBackground = spriteLoader.loadSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false);
+                menuBackground = spriteLoader.loadBackground(path);
                 if (menuBackground != null && !menuBackground.isError()) {
                     System.out.println("✅ Menu background loaded: " + path);
                     break;
@@ -42,7 +42,7 @@ public class NameInputScene extends SceneManager {
                 "images/backgrounds/name_input_bg.png"
         };
         for (String path : paths) {
-            backgroundImage = spriteLoader.loadSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false);
+            backgroundImage = spriteLoader.loadBackground(path);
             if (backgroundImage != null && !backgroundImage.isError()) {
                 System.out.println("✅ NameInputScene background loaded: " + path);
                 return;
@@ -68,6 +68,12 @@ public class NameInputScene extends SceneManager {
     public void update(double deltaTime) {
     }
 
+    // Chỉ đổi khi có input -> GameEngine không vẽ lại mỗi frame
+    @Override
+    public boolean isAnimating() {
+        return false;
+    }
+
     @Override
     public void render() {
         drawBackground();
@@ -51,7 +51,7 @@ public class PauseScene extends SceneManager {
         };
 
         for (String path : paths) {
-            pauseBackground = spriteLoader.loadSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT, true, false);
+            pauseBackground = spriteLoader.loadBackground(path);
             if (pauseBackground != null && !pauseBackground.isError()) {
                 System.out.println("Pause background loaded: " + path);
                 return;
@@ -73,6 +73,12 @@ public class PauseScene extends SceneManager {
         // Pause scene k cần update logic
     }
 
+    // Chỉ đổi khi có input -> GameEngine không vẽ lại mỗi frame
+    @Override
+    public boolean isAnimating() {
+        return false;
+    }
+
     @Override
     public void render() {
         drawBackground();
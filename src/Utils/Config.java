@@ -25,5 +25,66 @@ public class Config {
     public static final double PADDLE_STD_HEIGHT = 22;
     public static final double PADDLE_OFFSET_Y = 68;
 
+    // Va chạm liên tục (swept): chia nhỏ bước theo tốc độ để bóng không xuyên gạch/paddle
+    public static final boolean SWEPT_COLLISION = true;
+    public static final double MAX_SUBSTEP_DISTANCE = BALL_SIZE / 2;
+    public static final int MAX_SUBSTEPS = 32;
+
+    // Game loop bước cố định: mô phỏng chạy SIMULATION_HZ lần/giây, độc lập với tần số màn hình
+    public static final boolean FIXED_TIMESTEP = true;
+    public static final int SIMULATION_HZ = 120;
+    public static final int MAX_CATCHUP_STEPS = 5; // chống "spiral of death" khi máy chậm
+    // Chạy mô phỏng GameScene trên luồng riêng, render đọc snapshot qua triple buffer
+    public static final boolean SIMULATION_THREAD = false;
+    // Render nội suy giữa trạng thái tick trước và tick hiện tại (mượt trên màn hình 144/240 Hz)
+    public static final boolean RENDER_INTERPOLATION = true;
+
+    // Kho bóng (BallPool)
+    public static final int MAX_BALLS = 10; // giới hạn MultiBall ở chế độ thường
+    public static final boolean BALL_STORM = false; // "ball storm": MultiBall nhân tới BALL_POOL_CAPACITY
+    public static final int BALL_POOL_CAPACITY = 4096;
+
+    // Pha va chạm song song (ForkJoinPool) - chỉ đáng khi có rất nhiều bóng
+    public static final boolean PARALLEL_COLLISION = true;
+    public static final int PARALLEL_COLLISION_MIN_BALLS = 256;
+
+    // Va chạm bóng - bóng (sweep-and-prune trên trục X)
+    public static final boolean BALL_BALL_COLLISION = false;
+
+    // Tích phân theo lô: dùng Vector API (SIMD) nếu JVM có module jdk.incubator.vector
+    public static final boolean SIMD_INTEGRATION = true;
+
+    // Vật lý tất định: bóng/paddle tính bằng số dấu phẩy tĩnh (FixedPoint) + bảng sin/cos,
+    // cùng đầu vào -> đường bóng giống hệt từng bit trên mọi máy (luôn chạy bước cố định)
+    public static final boolean FIXED_POINT_PHYSICS = false;
+
+    // Đường ngắm khi bóng nằm trên paddle (raycast qua layout gạch, số lần nảy tối đa)
+    public static final boolean AIM_PREVIEW = true;
+    public static final int AIM_PREVIEW_BOUNCES = 3;
+
+    // Tự hạ chất lượng vẽ khi không giữ được TARGET_FPS, nâng lại khi dư (bậc hiện tại hiện trên HUD)
+    public static final boolean ADAPTIVE_QUALITY = true;
+    public static final int TARGET_FPS = 60;
+
+    // GameScene vẽ trên nhiều canvas chồng nhau: nền / gạch / HUD chỉ vẽ lại khi dữ liệu đổi,
+    // mỗi frame chỉ vẽ lại lớp động (paddle, bóng, power-up, gạch di chuyển)
+    public static final boolean LAYERED_CANVAS = true;
+    // Lớp động chỉ xóa + vẽ lại vùng có đối tượng di chuyển (cần LAYERED_CANVAS);
+    // vùng bẩn vượt DIRTY_RECT_MAX_AREA diện tích màn hình -> vẽ lại cả lớp
+    public static final boolean DIRTY_RECTS = true;
+    public static final double DIRTY_RECT_MAX_AREA = 0.35;
+
+    // Cửa sổ thu nhỏ -> dừng game loop; mất focus -> tự pause, chỉ vẽ lại INACTIVE_FPS lần / giây
+    public static final boolean SUSPEND_WHEN_INACTIVE = true;
+    public static final int INACTIVE_FPS = 4;
+
     public static final int BONUS_BLOCK_INTERVAL = 20;
+
+    // Debug: log mỗi lần va chạm (tắt mặc định - nối chuỗi mỗi frame sinh rác cho GC)
+    public static final boolean DEBUG_COLLISION_LOG = false;
+    // Debug: đo số byte cấp phát trong phần update mỗi frame
+    public static final boolean ALLOCATION_STATS = false;
+    // Debug: đo độ trễ input -> frame vẽ paddle mới (p50/p95/p99 trên màn hình, ghi file khi thoát)
+    public static final boolean LATENCY_STATS = false;
+    public static final String LATENCY_STATS_FILE = "input_latency.txt";
 }
\ No newline at end of file
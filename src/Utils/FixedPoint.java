@@ -0,0 +1,88 @@
+package Utils;
+
+/**
+ * Số thực dấu phẩy tĩnh Q48.16 lưu trong long (16 bit phần lẻ) cho chế độ vật lý tất định.
+ * Mọi phép tính là phép toán số nguyên -> cùng đầu vào cho cùng kết quả trên mọi JVM / máy.
+ * sin/cos tra bảng (bảng dựng bằng StrictMath nên cũng giống hệt nhau ở mọi nơi).
+ *
+ * Giá trị Q16 trong tầm game (< 2^37) đổi sang double và ngược lại không mất bit,
+ * nên dữ liệu vẫn có thể nằm trong các mảng double sẵn có.
+ */
+public final class FixedPoint {
+    public static final int FRACTION_BITS = 16;
+    public static final long ONE = 1L << FRACTION_BITS;
+
+    // Bảng sin 1 vòng tròn, 4096 bước (~0.088°/bước)
+    private static final int ANGLE_STEPS = 4096;
+    private static final long[] SIN_TABLE = new long[ANGLE_STEPS];
+
+    static {
+        for (int i = 0; i < ANGLE_STEPS; i++) {
+            SIN_TABLE[i] = Math.round(StrictMath.sin(2 * StrictMath.PI * i / ANGLE_STEPS) * ONE);
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    // === CHUYỂN ĐỔI ===
+    public static long fromDouble(double value) {
+        return Math.round(value * ONE);
+    }
+
+    public static double toDouble(long value) {
+        return (double) value / ONE;
+    }
+
+    // Làm tròn 1 giá trị double về lưới Q16
+    public static double quantize(double value) {
+        return toDouble(fromDouble(value));
+    }
+
+    // === PHÉP TOÁN ===
+    public static long mul(long a, long b) {
+        return (a * b) >> FRACTION_BITS;
+    }
+
+    public static long div(long a, long b) {
+        return (a << FRACTION_BITS) / b;
+    }
+
+    // Độ dài vector (x, y): căn nguyên của x² + y² (Q32) ra thẳng Q16
+    public static long length(long x, long y) {
+        return isqrt(x * x + y * y);
+    }
+
+    // Căn bậc 2 số nguyên (phương pháp từng bit)
+    public static long isqrt(long n) {
+        long result = 0;
+        long bit = 1L << 62;
+        while (bit > n) bit >>= 2;
+
+        while (bit != 0) {
+            if (n >= result + bit) {
+                n -= result + bit;
+                result = (result >> 1) + bit;
+            } else {
+                result >>= 1;
+            }
+            bit >>= 2;
+        }
+        return result;
+    }
+
+    // === LƯỢNG GIÁC (góc tính bằng độ, dạng Q16) ===
+    public static long sinDeg(long degrees) {
+        return SIN_TABLE[angleIndex(degrees)];
+    }
+
+    public static long cosDeg(long degrees) {
+        return SIN_TABLE[(angleIndex(degrees) + ANGLE_STEPS / 4) & (ANGLE_STEPS - 1)];
+    }
+
+    private static int angleIndex(long degrees) {
+        // làm tròn tới bước gần nhất, & để quấn vòng cả góc âm
+        long steps = Math.floorDiv(degrees * ANGLE_STEPS + 180 * ONE, 360 * ONE);
+        return (int) (steps & (ANGLE_STEPS - 1));
+    }
+}
@@ -0,0 +1,78 @@
+package Utils;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Histogram độ trễ cố định (không cấp phát khi ghi): bucket 0.1 ms từ 0 tới MAX_MILLIS,
+ * giá trị lớn hơn dồn vào bucket cuối. Đủ chính xác cho p50/p95/p99 của input -> màn hình.
+ * Chỉ ghi từ 1 luồng (luồng render).
+ */
+public class LatencyHistogram {
+    private static final long NANOS_PER_BUCKET = 100_000; // 0.1 ms
+    private static final int MAX_MILLIS = 250;
+    private static final int BUCKETS = (int) (MAX_MILLIS * 1_000_000L / NANOS_PER_BUCKET) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) return;
+        int bucket = (int) Math.min(BUCKETS - 1, nanos / NANOS_PER_BUCKET);
+        counts[bucket]++;
+        total++;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        maxNanos = 0;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    // Giá trị (ms, cận trên của bucket) mà percent % mẫu nhỏ hơn hoặc bằng; 0 nếu chưa có mẫu
+    public double getPercentileMillis(double percent) {
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(total * percent / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= Math.max(1, rank)) {
+                return (bucket + 1) * NANOS_PER_BUCKET / 1_000_000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Ghi tóm tắt + các bucket khác 0 ra file text (ghi đè). header = mô tả chế độ đo.
+     */
+    public void writeTo(String fileName, String header) {
+        try (PrintWriter out = new PrintWriter(new FileWriter(fileName))) {
+            out.println("# " + header);
+            out.printf("samples=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                    total, getPercentileMillis(50), getPercentileMillis(95), getPercentileMillis(99), getMaxMillis());
+            out.println("# bucket_start_ms,count");
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (counts[bucket] > 0) {
+                    out.printf("%.1f,%d%n", bucket * NANOS_PER_BUCKET / 1_000_000.0, counts[bucket]);
+                }
+            }
+            System.out.println("Latency histogram written to " + fileName + " (" + total + " samples)");
+        } catch (IOException e) {
+            System.err.println("Error writing latency histogram: " + e.getMessage());
+        }
+    }
+}
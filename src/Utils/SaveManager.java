@@ -10,21 +10,30 @@ public class SaveManager {
     private static SaveManager instance;
     private List<HighscoreEntry> highscores;
     private GameProgress gameProgress;
+    private final boolean persistent; // false: chỉ giữ trong bộ nhớ, không đọc / ghi file
 
-    private SaveManager() {
+    private SaveManager(boolean persistent) {
         this.highscores = new ArrayList<>();
         this.gameProgress = new GameProgress();
-        loadHighscores();
-        loadGameProgress();
+        this.persistent = persistent;
+        if (persistent) {
+            loadHighscores();
+            loadGameProgress();
+        }
     }
 
     public static SaveManager getInstance() {
         if (instance == null) {
-            instance = new SaveManager();
+            instance = new SaveManager(true);
         }
         return instance;
     }
 
+    // Save riêng trong bộ nhớ cho phiên chạy không giao diện (nhiều phiên không ghi đè file của nhau)
+    public static SaveManager createInMemory() {
+        return new SaveManager(false);
+    }
+
     // Inner class for highscore entry
     public static class HighscoreEntry implements Serializable {
         private static final long serialVersionUID = 1L;
@@ -170,6 +179,7 @@ public class SaveManager {
     }
 
     private void saveHighscores() {
+        if (!persistent) return;
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(HIGHSCORE_FILE))) {
             oos.writeObject(highscores);
         } catch (IOException e) {
@@ -248,6 +258,7 @@ public class SaveManager {
     }
 
     private void saveGameProgress() {
+        if (!persistent) return;
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(PROGRESS_FILE))) {
             oos.writeObject(gameProgress);
         } catch (IOException e) {
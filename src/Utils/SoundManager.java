@@ -30,6 +30,13 @@ public class SoundManager {
         return instance;
     }
 
+    // Bản riêng không bao giờ initialize (không đụng tới thiết bị âm thanh) - cho phiên chạy không giao diện
+    public static SoundManager createMuted() {
+        SoundManager muted = new SoundManager();
+        muted.soundEnabled = false;
+        return muted;
+    }
+
     public void initialize() {
         if (initialized) return;
 
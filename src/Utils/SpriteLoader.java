@@ -11,26 +11,49 @@ import java.util.Map;
 public class SpriteLoader {
     private static SpriteLoader instance;
     private final Map<String, Image> spriteCache;
+    private final boolean headless; // không có JavaFX toolkit: mọi sprite = null
 
-    private SpriteLoader() {
+    private SpriteLoader(boolean headless) {
         spriteCache = new HashMap<>();
+        this.headless = headless;
     }
 
     // Singleton
     public static SpriteLoader getInstance() {
         if (instance == null) {
-            instance = new SpriteLoader();
+            instance = new SpriteLoader(false);
         }
         return instance;
     }
 
+    // Loader cho phiên không giao diện: không tạo Image / Canvas nào
+    public static SpriteLoader createHeadless() {
+        return new SpriteLoader(true);
+    }
+
     // Load sprite nhanh (không scale, không smooth)
     public Image loadSprite(String path) {
         return loadSprite(path, 0, 0, false, false);
     }
 
+    /**
+     * Sprite scale sẵn đúng kích thước vẽ (làm tròn tới pixel, không giữ tỉ lệ, làm mịn 1 lần lúc load):
+     * drawImage cùng kích thước là chép 1:1, không phải resample ảnh gốc mỗi frame.
+     * Mỗi kích thước là 1 ảnh riêng trong cache.
+     */
+    public Image loadScaledSprite(String path, double width, double height) {
+        return loadSprite(path, Math.round(width), Math.round(height), false, true);
+    }
+
+    // Ảnh nền phủ cả màn hình, scale sẵn theo kích thước cửa sổ
+    public Image loadBackground(String path) {
+        return loadScaledSprite(path, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
+    }
+
     // Load sprite với tùy chọn width/height và smooth
     public Image loadSprite(String path, double width, double height, boolean preserveRatio, boolean smooth) {
+        if (headless) return null;
+
         String cacheKey = path + "_" + width + "x" + height + "_smooth:" + smooth;
         if (spriteCache.containsKey(cacheKey)) {
             return spriteCache.get(cacheKey);